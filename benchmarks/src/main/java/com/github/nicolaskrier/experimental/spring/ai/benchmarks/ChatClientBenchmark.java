@@ -0,0 +1,148 @@
+package com.github.nicolaskrier.experimental.spring.ai.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatClientBenchmark {
+
+    private static final String SYSTEM_PROMPT = """
+            You are a helpful assistant that helps people find information.
+            You must answer "null" instead of inventing a response if you don't know the answer.""";
+
+    private static final String USER_TEMPLATED_PROMPT = "Who is the pope having the pontiff number {searched_pope_pontiff_number}?";
+
+    private static final String CONVERSATION_ID = "benchmark";
+
+    @Param("64")
+    private int documentCount;
+
+    @Param("4")
+    private int topK;
+
+    private Prompt prompt;
+
+    private ChatClient bareChatClient;
+
+    private ChatClient advisedChatClient;
+
+    private ChatClient questionAnswerChatClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var chatModel = new StubChatModel();
+        var vectorStore = SimpleVectorStore.builder(new StubEmbeddingModel()).build();
+        var documents = new ArrayList<Document>();
+
+        for (var index = 0; index < documentCount; index++) {
+            documents.add(new Document(StubChatModel.POPE_JSON.replace("267", Integer.toString(index)), Map.of("pontiffNumber", index)));
+        }
+
+        vectorStore.add(documents);
+        prompt = renderPrompt();
+        bareChatClient = ChatClient.builder(chatModel)
+                .defaultSystem(SYSTEM_PROMPT)
+                .build();
+        advisedChatClient = ChatClient.builder(chatModel)
+                .defaultSystem(SYSTEM_PROMPT)
+                .defaultAdvisors(MessageChatMemoryAdvisor.builder(MessageWindowChatMemory.builder().build()).build(), new SimpleLoggerAdvisor())
+                .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, CONVERSATION_ID))
+                .build();
+        questionAnswerChatClient = ChatClient.builder(chatModel)
+                .defaultSystem(SYSTEM_PROMPT)
+                .defaultAdvisors(QuestionAnswerAdvisor.builder(vectorStore).searchRequest(SearchRequest.builder().topK(topK).build()).build())
+                .build();
+    }
+
+    @Benchmark
+    public Prompt promptTemplateRendering() {
+        return renderPrompt();
+    }
+
+    @Benchmark
+    public String bareCall() {
+        return bareChatClient.prompt(prompt)
+                .call()
+                .content();
+    }
+
+    @Benchmark
+    public String memoryAndLoggerAdvisedCall() {
+        return advisedChatClient.prompt(prompt)
+                .call()
+                .content();
+    }
+
+    @Benchmark
+    public String questionAnswerAdvisedCall() {
+        return questionAnswerChatClient.prompt(prompt)
+                .call()
+                .content();
+    }
+
+    @Benchmark
+    public Object entityConversion() {
+        return bareChatClient.prompt(prompt)
+                .call()
+                .entity(Pope.class);
+    }
+
+    @Benchmark
+    public Object validatedEntityConversion() {
+        return bareChatClient.prompt(prompt)
+                .call()
+                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema);
+    }
+
+    private static Prompt renderPrompt() {
+        return PromptTemplate.builder()
+                .template(USER_TEMPLATED_PROMPT)
+                .variables(Map.of("searched_pope_pontiff_number", 267))
+                .build()
+                .create();
+    }
+
+    static void main() throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(ChatClientBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.nicolaskrier.experimental.spring.ai.benchmarks;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+
+class StubChatModel implements ChatModel {
+
+    static final String POPE_JSON = """
+            {
+              "pontiffNumber": 267,
+              "pontiffStartDate": "2025-05-08",
+              "pontiffEndDate": null,
+              "birthDate": "1955-09-14",
+              "deathDate": null,
+              "englishName": "Leo XIV",
+              "latinName": "LEO Quartus Decimus",
+              "personalName": "Robert Francis Prevost",
+              "nationalities": ["American", "Peruvian"]
+            }
+            """;
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(POPE_JSON))));
+    }
+
+}
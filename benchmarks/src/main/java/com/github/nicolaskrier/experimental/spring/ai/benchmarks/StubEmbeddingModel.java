@@ -0,0 +1,50 @@
+package com.github.nicolaskrier.experimental.spring.ai.benchmarks;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+class StubEmbeddingModel implements EmbeddingModel {
+
+    private static final int DIMENSIONS = 768;
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        var embeddings = new ArrayList<Embedding>();
+        var inputs = request.getInstructions();
+
+        for (var index = 0; index < inputs.size(); index++) {
+            embeddings.add(new Embedding(vector(inputs.get(index)), index));
+        }
+
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return vector(Objects.requireNonNull(document.getText()));
+    }
+
+    @Override
+    public int dimensions() {
+        return DIMENSIONS;
+    }
+
+    private static float[] vector(String text) {
+        var random = new SplittableRandom(text.hashCode());
+        var vector = new float[DIMENSIONS];
+
+        for (var index = 0; index < DIMENSIONS; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+
+        return vector;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.github.nicolaskrier.experimental.spring.ai.pope.search.mcp.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.core.io.ClassPathResource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class PopeToolCallbackBenchmark {
+
+    @Param({"267", "1"})
+    private int pontiffNumber;
+
+    private String toolInput;
+
+    private ToolCallback methodToolCallback;
+
+    private ToolCallback preSerializedToolCallback;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var popeSearchTools = new PopeSearchTools(new ClassPathResource("data/popes.json"), JsonMapper.builder().build());
+        toolInput = "{\"pontiffNumber\": " + pontiffNumber + "}";
+        methodToolCallback = Arrays.stream(MethodToolCallbackProvider.builder().toolObjects(popeSearchTools).build().getToolCallbacks())
+                .filter(toolCallback -> "searchPopeByPontiffNumber".equals(toolCallback.getToolDefinition().name()))
+                .findFirst()
+                .orElseThrow();
+        preSerializedToolCallback = new PreSerializedPopeToolCallback(methodToolCallback, "pontiffNumber", popeSearchTools.popeIndex());
+
+        if (!methodToolCallback.call(toolInput).equals(preSerializedToolCallback.call(toolInput))) {
+            throw new IllegalStateException("Pre-serialized tool result differs from the method tool result!");
+        }
+    }
+
+    @Benchmark
+    public String methodToolCallback() {
+        return methodToolCallback.call(toolInput);
+    }
+
+    @Benchmark
+    public String preSerializedToolCallback() {
+        return preSerializedToolCallback.call(toolInput);
+    }
+
+}
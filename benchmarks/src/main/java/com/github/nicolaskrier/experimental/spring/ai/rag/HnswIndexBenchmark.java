@@ -0,0 +1,124 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HnswIndexBenchmark {
+
+    private static final int QUERY_COUNT = 128;
+
+    private static final IntPredicate ALL_NODES = _ -> true;
+
+    @Param({"10000", "100000"})
+    private int vectorCount;
+
+    @Param("768")
+    private int dimensions;
+
+    @Param("10")
+    private int k;
+
+    @Param({"32", "128"})
+    private int efSearch;
+
+    private VectorSegmentFile vectors;
+
+    private HnswIndex hnswIndex;
+
+    private float[][] queries;
+
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var random = new SplittableRandom(42L);
+        var path = Files.createTempFile("hnsw-index-benchmark", ".bin");
+        path.toFile().deleteOnExit();
+        vectors = new VectorSegmentFile(path, dimensions);
+        hnswIndex = new HnswIndex(vectors, 16, 100, 42L);
+
+        for (var node = 0; node < vectorCount; node++) {
+            hnswIndex.insert(vectors.append(randomVector(random)));
+        }
+
+        queries = new float[QUERY_COUNT][];
+
+        for (var index = 0; index < QUERY_COUNT; index++) {
+            queries[index] = randomVector(random);
+        }
+
+        System.out.printf("%nRecall@%d with efSearch %d over %d vectors: %.4f%n", k, efSearch, vectorCount, recall());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        vectors.close();
+    }
+
+    @Benchmark
+    public List<?> hnswSearch() {
+        return hnswIndex.search(nextQuery(), k, efSearch, ALL_NODES);
+    }
+
+    @Benchmark
+    public List<?> bruteForceSearch() {
+        return hnswIndex.bruteForceSearch(nextQuery(), k, ALL_NODES);
+    }
+
+    private float[] nextQuery() {
+        queryIndex = (queryIndex + 1) % QUERY_COUNT;
+
+        return queries[queryIndex];
+    }
+
+    private double recall() {
+        var foundNeighborCount = 0;
+
+        for (var query : queries) {
+            var exactNeighbors = new HashSet<Integer>();
+            hnswIndex.bruteForceSearch(query, k, ALL_NODES).forEach(neighbor -> exactNeighbors.add(neighbor.node()));
+            foundNeighborCount += (int) hnswIndex.search(query, k, efSearch, ALL_NODES)
+                    .stream()
+                    .filter(neighbor -> exactNeighbors.contains(neighbor.node()))
+                    .count();
+        }
+
+        return (double) foundNeighborCount / (QUERY_COUNT * k);
+    }
+
+    private float[] randomVector(SplittableRandom random) {
+        var vector = new float[dimensions];
+
+        for (var index = 0; index < dimensions; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+
+        return EmbeddedVectorStore.normalize(vector);
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class LoggerAdvisorBenchmark {
+
+    private static final String ANSWER = "Leo XIV, born Robert Francis Prevost, is the 267th pope since 2025-05-08.";
+
+    @Param({"8", "64"})
+    private int historySize;
+
+    @Param({"1.0", "0.01"})
+    private double samplingRate;
+
+    private Prompt prompt;
+
+    private ChatClient bareChatClient;
+
+    private ChatClient simpleLoggerChatClient;
+
+    private ChatClient sampledLoggerChatClient;
+
+    private SampledLoggerAdvisor sampledLoggerAdvisor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var chatModel = new FixedAnswerChatModel();
+        var messages = new ArrayList<Message>(historySize + 1);
+
+        for (var index = 0; index < historySize / 2; index++) {
+            messages.add(new UserMessage("Who is the pope having the pontiff number " + (267 - index) + "? " + "Answer with all you know about him. ".repeat(8)));
+            messages.add(new AssistantMessage(ANSWER.repeat(8)));
+        }
+
+        messages.add(new UserMessage("Who is the pope having the pontiff number 267?"));
+        prompt = new Prompt(messages);
+        sampledLoggerAdvisor = new SampledLoggerAdvisor(samplingRate, 4096, 1024, new SimpleMeterRegistry());
+        bareChatClient = ChatClient.builder(chatModel).build();
+        simpleLoggerChatClient = ChatClient.builder(chatModel)
+                .defaultAdvisors(new SimpleLoggerAdvisor())
+                .build();
+        sampledLoggerChatClient = ChatClient.builder(chatModel)
+                .defaultAdvisors(sampledLoggerAdvisor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sampledLoggerAdvisor.close();
+    }
+
+    @Benchmark
+    public String bareCall() {
+        return bareChatClient.prompt(prompt)
+                .call()
+                .content();
+    }
+
+    @Benchmark
+    public String simpleLoggerAdvisedCall() {
+        return simpleLoggerChatClient.prompt(prompt)
+                .call()
+                .content();
+    }
+
+    @Benchmark
+    public String sampledLoggerAdvisedCall() {
+        return sampledLoggerChatClient.prompt(prompt)
+                .call()
+                .content();
+    }
+
+    static void main() throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(LoggerAdvisorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    private static final class FixedAnswerChatModel implements ChatModel {
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(ANSWER))));
+        }
+
+    }
+
+}
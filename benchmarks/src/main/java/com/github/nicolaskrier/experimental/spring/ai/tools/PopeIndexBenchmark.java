@@ -0,0 +1,107 @@
+package com.github.nicolaskrier.experimental.spring.ai.tools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PopeIndexBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    private static final LocalDate FIRST_PONTIFF_START_DATE = LocalDate.of(33, 1, 1);
+
+    private static final int PONTIFF_DAYS = 30;
+
+    @Param({"267", "100000"})
+    private int popeCount;
+
+    private List<Pope> popes;
+
+    private PopeIndex popeIndex;
+
+    private int[] pontiffNumbers;
+
+    private LocalDate[] dates;
+
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        popes = new ArrayList<>();
+
+        for (var pontiffNumber = 1; pontiffNumber <= popeCount; pontiffNumber++) {
+            var pontiffStartDate = FIRST_PONTIFF_START_DATE.plusDays((long) (pontiffNumber - 1) * PONTIFF_DAYS);
+            var pontiffEndDate = pontiffNumber == popeCount ? null : pontiffStartDate.plusDays(PONTIFF_DAYS - 2);
+            popes.add(new Pope(pontiffNumber, pontiffStartDate, pontiffEndDate, pontiffStartDate.minusYears(60), pontiffEndDate, "Pope " + pontiffNumber, "PAPA " + pontiffNumber, "Person " + pontiffNumber, List.of("Roman")));
+        }
+
+        popeIndex = new PopeIndex(popes);
+        var random = new SplittableRandom(42L);
+        pontiffNumbers = new int[QUERY_COUNT];
+        dates = new LocalDate[QUERY_COUNT];
+
+        for (var index = 0; index < QUERY_COUNT; index++) {
+            pontiffNumbers[index] = random.nextInt(1, popeCount + 1);
+            dates[index] = FIRST_PONTIFF_START_DATE.plusDays(random.nextLong((long) popeCount * PONTIFF_DAYS));
+        }
+    }
+
+    @Benchmark
+    public Object indexedSearchByPontiffNumber() {
+        return popeIndex.findByPontiffNumber(pontiffNumbers[nextQueryIndex()]);
+    }
+
+    @Benchmark
+    public Object linearSearchByPontiffNumber() {
+        var pontiffNumber = pontiffNumbers[nextQueryIndex()];
+
+        return popes.stream()
+                .filter(pope -> pope.pontiffNumber() == pontiffNumber)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public Object indexedSearchByDate() {
+        return popeIndex.findByDate(dates[nextQueryIndex()]);
+    }
+
+    @Benchmark
+    public Object linearSearchByDate() {
+        var date = dates[nextQueryIndex()];
+
+        return popes.stream()
+                .filter(pope -> pope.pontiffStartDate().isEqual(date) || pope.pontiffStartDate().isBefore(date))
+                .filter(pope -> pope.pontiffEndDate() == null || pope.pontiffEndDate().isEqual(date) || pope.pontiffEndDate().isAfter(date))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private int nextQueryIndex() {
+        queryIndex = (queryIndex + 1) % QUERY_COUNT;
+
+        return queryIndex;
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.core.Ordered;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+class AnswerCacheAdvisor implements CallAdvisor {
+
+    private static final Pattern WHITESPACES_PATTERN = Pattern.compile("\\s+");
+
+    private final Map<CacheKey, CacheEntry> cacheEntries;
+
+    private final long timeToLiveNanos;
+
+    private final @Nullable EmbeddingModel embeddingModel;
+
+    private final double similarityThreshold;
+
+    private final Counter hitCounter;
+
+    private final Counter similarHitCounter;
+
+    private final Counter missCounter;
+
+    AnswerCacheAdvisor(String cacheName, int maximumSize, Duration timeToLive, @Nullable EmbeddingModel embeddingModel, double similarityThreshold, MeterRegistry meterRegistry) {
+        this.cacheEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldestEntry) {
+                return size() > maximumSize;
+            }
+        };
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.embeddingModel = embeddingModel;
+        this.similarityThreshold = similarityThreshold;
+        this.hitCounter = requestCounter(cacheName, "hit", meterRegistry);
+        this.similarHitCounter = requestCounter(cacheName, "similar-hit", meterRegistry);
+        this.missCounter = requestCounter(cacheName, "miss", meterRegistry);
+        Gauge.builder("chat.answer.cache.size", this, AnswerCacheAdvisor::size)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        var cacheKey = cacheKey(chatClientRequest);
+        var chatResponse = get(cacheKey);
+
+        if (chatResponse != null) {
+            hitCounter.increment();
+
+            return cachedChatClientResponse(chatResponse, chatClientRequest);
+        }
+
+        float @Nullable [] queryEmbedding = null;
+
+        if (embeddingModel != null && similarityThreshold > 0.0) {
+            queryEmbedding = embeddingModel.embed(cacheKey.query());
+            chatResponse = getSimilar(cacheKey.scope(), queryEmbedding);
+
+            if (chatResponse != null) {
+                similarHitCounter.increment();
+
+                return cachedChatClientResponse(chatResponse, chatClientRequest);
+            }
+        }
+
+        missCounter.increment();
+        var chatClientResponse = callAdvisorChain.nextCall(chatClientRequest);
+
+        if (isCacheable(chatClientResponse.chatResponse())) {
+            put(cacheKey, new CacheEntry(Objects.requireNonNull(chatClientResponse.chatResponse()), queryEmbedding, System.nanoTime() + timeToLiveNanos));
+        }
+
+        return chatClientResponse;
+    }
+
+    @Override
+    public String getName() {
+        return AnswerCacheAdvisor.class.getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1000;
+    }
+
+    int size() {
+        synchronized (cacheEntries) {
+            return cacheEntries.size();
+        }
+    }
+
+    private @Nullable ChatResponse get(CacheKey cacheKey) {
+        synchronized (cacheEntries) {
+            var cacheEntry = cacheEntries.get(cacheKey);
+
+            if (cacheEntry == null) {
+                return null;
+            }
+
+            if (cacheEntry.isExpired(System.nanoTime())) {
+                cacheEntries.remove(cacheKey);
+
+                return null;
+            }
+
+            return cacheEntry.chatResponse();
+        }
+    }
+
+    private @Nullable ChatResponse getSimilar(String scope, float[] queryEmbedding) {
+        synchronized (cacheEntries) {
+            var now = System.nanoTime();
+            cacheEntries.values().removeIf(cacheEntry -> cacheEntry.isExpired(now));
+            CacheKey mostSimilarCacheKey = null;
+            var highestSimilarity = similarityThreshold;
+
+            for (var cacheEntry : cacheEntries.entrySet()) {
+                var cachedQueryEmbedding = cacheEntry.getValue().queryEmbedding();
+
+                if (cachedQueryEmbedding != null && cacheEntry.getKey().scope().equals(scope)) {
+                    var similarity = cosineSimilarity(queryEmbedding, cachedQueryEmbedding);
+
+                    if (similarity >= highestSimilarity) {
+                        highestSimilarity = similarity;
+                        mostSimilarCacheKey = cacheEntry.getKey();
+                    }
+                }
+            }
+
+            return mostSimilarCacheKey != null ? cacheEntries.get(mostSimilarCacheKey).chatResponse() : null;
+        }
+    }
+
+    private void put(CacheKey cacheKey, CacheEntry cacheEntry) {
+        synchronized (cacheEntries) {
+            cacheEntries.put(cacheKey, cacheEntry);
+        }
+    }
+
+    private static CacheKey cacheKey(ChatClientRequest chatClientRequest) {
+        var prompt = chatClientRequest.prompt();
+        var userMessage = prompt.getUserMessage();
+        var scope = new StringBuilder();
+        var historyMessageDigest = messageDigest();
+
+        for (var message : prompt.getInstructions()) {
+            if (message.getMessageType() == MessageType.SYSTEM) {
+                scope.append("system:").append(normalize(message)).append('\n');
+            } else if (message != userMessage) {
+                historyMessageDigest.update((message.getMessageType() + ":" + normalize(message) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        scope.append("history:").append(HexFormat.of().formatHex(historyMessageDigest.digest())).append('\n');
+        var context = chatClientRequest.context();
+        scope.append("filter:").append(context.getOrDefault(QuestionAnswerAdvisor.FILTER_EXPRESSION, "")).append('\n');
+
+        if (context.get(QuestionAnswerAdvisor.RETRIEVED_DOCUMENTS) instanceof List<?> retrievedDocuments) {
+            scope.append("documents:").append(retrievedDocuments.stream()
+                    .filter(Document.class::isInstance)
+                    .map(Document.class::cast)
+                    .map(Document::getId)
+                    .sorted()
+                    .collect(Collectors.joining(",")));
+        }
+
+        return new CacheKey(scope.toString(), normalize(userMessage));
+    }
+
+    private static MessageDigest messageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 algorithm is not available!", exception);
+        }
+    }
+
+    private static String normalize(Message message) {
+        var text = Objects.requireNonNullElse(message.getText(), "");
+
+        return WHITESPACES_PATTERN.matcher(text.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isCacheable(@Nullable ChatResponse chatResponse) {
+        if (chatResponse == null || chatResponse.hasToolCalls() || chatResponse.getResult() == null) {
+            return false;
+        }
+
+        var text = chatResponse.getResult().getOutput().getText();
+
+        return text != null && !text.isBlank();
+    }
+
+    private static ChatClientResponse cachedChatClientResponse(ChatResponse chatResponse, ChatClientRequest chatClientRequest) {
+        return ChatClientResponse.builder()
+                .chatResponse(chatResponse)
+                .context(chatClientRequest.context())
+                .build();
+    }
+
+    private static double cosineSimilarity(float[] leftVector, float[] rightVector) {
+        if (leftVector.length != rightVector.length) {
+            return -1.0;
+        }
+
+        var dotProduct = 0.0;
+        var leftNorm = 0.0;
+        var rightNorm = 0.0;
+
+        for (var index = 0; index < leftVector.length; index++) {
+            dotProduct += leftVector[index] * rightVector[index];
+            leftNorm += leftVector[index] * leftVector[index];
+            rightNorm += rightVector[index] * rightVector[index];
+        }
+
+        return dotProduct / (Math.sqrt(leftNorm) * Math.sqrt(rightNorm));
+    }
+
+    private static Counter requestCounter(String cacheName, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("chat.answer.cache.requests")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CacheKey(String scope, String query) {
+    }
+
+    private record CacheEntry(ChatResponse chatResponse, float @Nullable [] queryEmbedding, long expirationTime) {
+        boolean isExpired(long now) {
+            return now - expirationTime > 0L;
+        }
+    }
+
+}
@@ -1,24 +1,33 @@
 package com.github.nicolaskrier.experimental.spring.ai.chat.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 @SpringBootApplication
@@ -43,44 +52,111 @@ class ChatClientExample {
     @Value("${next-searched-popes-number:0}")
     private int nextSearchedPopesNumber;
 
+    @Value("${searched-pope-streaming:false}")
+    private boolean searchedPopeStreaming;
+
+    @Value("${answer-cache-maximum-size:1000}")
+    private int answerCacheMaximumSize;
+
+    @Value("${answer-cache-time-to-live:1h}")
+    private Duration answerCacheTimeToLive;
+
+    @Value("${logging-advisor-sampling-rate:1.0}")
+    private double loggingAdvisorSamplingRate;
+
+    @Value("${logging-advisor-maximum-payload-length:4096}")
+    private int loggingAdvisorMaximumPayloadLength;
+
+    @Value("${logging-advisor-buffer-capacity:1024}")
+    private int loggingAdvisorBufferCapacity;
+
+    @Value("${ollama-keep-alive:30m}")
+    private Duration ollamaKeepAlive;
+
+    @Value("${ollama-keep-alive-refresh-interval:1m}")
+    private Duration ollamaKeepAliveRefreshInterval;
+
+    private final MeterRegistry meterRegistry;
+
+    ChatClientExample(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    SampledLoggerAdvisor sampledLoggerAdvisor() {
+        return new SampledLoggerAdvisor(loggingAdvisorSamplingRate, loggingAdvisorMaximumPayloadLength, loggingAdvisorBufferCapacity, meterRegistry);
+    }
+
     @Bean
-    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory) {
+    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory, SampledLoggerAdvisor sampledLoggerAdvisor) {
+        var answerCacheAdvisor = new AnswerCacheAdvisor("popes", answerCacheMaximumSize, answerCacheTimeToLive, null, 0.0, meterRegistry);
+
         return chatClientBuilder.defaultSystem(systemPromptResource)
                 .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, UUID.randomUUID()))
-                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), new SimpleLoggerAdvisor())
+                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), answerCacheAdvisor, sampledLoggerAdvisor)
                 .build();
     }
 
     @Bean
-    ApplicationRunner applicationRunner(ChatClient chatClient) {
+    PrometheusMetricsFileExporter prometheusMetricsFileExporter(PrometheusMeterRegistry prometheusMeterRegistry, @Value("${metrics-export-path}") Path metricsExportPath) {
+        return new PrometheusMetricsFileExporter(prometheusMeterRegistry, metricsExportPath);
+    }
+
+    @Bean
+    StreamingPopeConverter streamingPopeConverter() {
+        return new StreamingPopeConverter(meterRegistry);
+    }
+
+    @Bean
+    @Profile("ollama")
+    OllamaModelWarmer ollamaModelWarmer(OllamaApi ollamaApi, @Value("${spring.ai.ollama.chat.model}") String chatModel) {
+        return new OllamaModelWarmer(ollamaApi, List.of(chatModel), List.of(), ollamaKeepAlive, ollamaKeepAliveRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    @Order(0)
+    @Profile("ollama")
+    ApplicationRunner ollamaWarmUpApplicationRunner(OllamaModelWarmer ollamaModelWarmer) {
+        return _ -> ollamaModelWarmer.warmUp();
+    }
+
+    @Bean
+    ApplicationRunner applicationRunner(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
         return _ -> {
-            searchPope(chatClient);
-            searchNextPopes(chatClient);
+            searchPope(chatClient, streamingPopeConverter);
+            searchNextPopes(chatClient, streamingPopeConverter);
         };
     }
 
-    private void searchPope(ChatClient chatClient) {
-        var prompt = PromptTemplate.builder()
+    private void searchPope(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        var prompt = renderPrompt(PromptTemplate.builder()
                 .resource(userTemplatedPromptResource)
                 .variables(Map.of(SEARCHED_POPE_KEY, searchedPope))
-                .build()
-                .create();
-        var pope = searchPope(prompt, chatClient);
+                .build());
+        var pope = searchPope(prompt, chatClient, streamingPopeConverter);
         LOGGER.info("The {} pope is: {}", searchedPope, pope);
     }
 
-    private void searchNextPopes(ChatClient chatClient) {
+    private void searchNextPopes(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
         IntStream.range(0, nextSearchedPopesNumber).forEach(_ -> {
             var prompt = createUserPrompt();
-            var pope = searchPope(prompt, chatClient);
+            var pope = searchPope(prompt, chatClient, streamingPopeConverter);
             LOGGER.info("The next pope is: {}", pope);
         });
     }
 
-    private static Pope searchPope(Prompt prompt, ChatClient chatClient) {
-        return chatClient.prompt(prompt)
+    private Pope searchPope(Prompt prompt, ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        if (searchedPopeStreaming) {
+            var contents = chatClient.prompt(streamingPopeConverter.withFormat(prompt))
+                    .stream()
+                    .content();
+
+            return streamingPopeConverter.convert(contents, (fieldName, value) -> LOGGER.debug("Pope field '{}' received: {}", fieldName, value));
+        }
+
+        return recordEntityCall(() -> chatClient.prompt(prompt)
                 .call()
-                .entity(Pope.class, entityParamSpec -> entityParamSpec.useProviderStructuredOutput().validateSchema());
+                .entity(Pope.class, entityParamSpec -> entityParamSpec.useProviderStructuredOutput().validateSchema()));
     }
 
     private Prompt createUserPrompt() {
@@ -91,6 +167,18 @@ class ChatClientExample {
         }
     }
 
+    private Prompt renderPrompt(PromptTemplate promptTemplate) {
+        return Timer.builder("chat.prompt.template.rendering")
+                .register(meterRegistry)
+                .record(() -> promptTemplate.create());
+    }
+
+    private <T> T recordEntityCall(Supplier<T> entityCall) {
+        return Timer.builder("chat.client.entity")
+                .register(meterRegistry)
+                .record(entityCall);
+    }
+
     static void main(String[] args) {
         SpringApplication.run(ChatClientExample.class, args);
     }
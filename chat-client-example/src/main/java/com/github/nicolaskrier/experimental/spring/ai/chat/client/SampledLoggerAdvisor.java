@@ -0,0 +1,255 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.Message;
+import reactor.core.publisher.Flux;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+class SampledLoggerAdvisor implements CallAdvisor, StreamAdvisor, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampledLoggerAdvisor.class);
+
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final double samplingRate;
+
+    private final int maximumPayloadLength;
+
+    private final RingBuffer<LogEvent> logEvents;
+
+    private final Counter loggedEventsCounter;
+
+    private final Counter droppedEventsCounter;
+
+    private final Thread writer;
+
+    private volatile boolean closed;
+
+    SampledLoggerAdvisor(double samplingRate, int maximumPayloadLength, int bufferCapacity, MeterRegistry meterRegistry) {
+        if (samplingRate < 0.0 || samplingRate > 1.0) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1!");
+        }
+
+        if (maximumPayloadLength < 1 || bufferCapacity < 1) {
+            throw new IllegalArgumentException("Maximum payload length and buffer capacity must be strictly positive!");
+        }
+
+        this.samplingRate = samplingRate;
+        this.maximumPayloadLength = maximumPayloadLength;
+        this.logEvents = new RingBuffer<>(bufferCapacity);
+        this.loggedEventsCounter = Counter.builder("chat.logging.events").tag("result", "logged").register(meterRegistry);
+        this.droppedEventsCounter = Counter.builder("chat.logging.events").tag("result", "dropped").register(meterRegistry);
+        this.writer = Thread.ofVirtual()
+                .name("chat-logging-writer")
+                .start(this::drain);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        var chatClientResponse = callAdvisorChain.nextCall(chatClientRequest);
+
+        if (isSampled()) {
+            enqueue(new LogEvent(chatClientRequest, chatClientResponse));
+        }
+
+        return chatClientResponse;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest, StreamAdvisorChain streamAdvisorChain) {
+        var chatClientResponses = streamAdvisorChain.nextStream(chatClientRequest);
+
+        if (!isSampled()) {
+            return chatClientResponses;
+        }
+
+        return new ChatClientMessageAggregator().aggregateChatClientResponse(chatClientResponses, chatClientResponse -> enqueue(new LogEvent(chatClientRequest, chatClientResponse)));
+    }
+
+    @Override
+    public String getName() {
+        return SampledLoggerAdvisor.class.getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isSampled() {
+        return LOGGER.isDebugEnabled() && (samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    private void enqueue(LogEvent logEvent) {
+        if (logEvents.offer(logEvent)) {
+            loggedEventsCounter.increment();
+        } else {
+            droppedEventsCounter.increment();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            var logEvent = logEvents.poll();
+
+            if (logEvent != null) {
+                log(logEvent);
+            } else if (closed) {
+                return;
+            } else {
+                LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    private void log(LogEvent logEvent) {
+        try {
+            var payload = new BoundedPayload(maximumPayloadLength);
+
+            for (var message : logEvent.chatClientRequest().prompt().getInstructions()) {
+                payload.append(message);
+            }
+
+            var chatResponse = logEvent.chatClientResponse().chatResponse();
+
+            if (chatResponse != null) {
+                for (var generation : chatResponse.getResults()) {
+                    payload.append(generation.getOutput());
+                }
+            }
+
+            LOGGER.debug("Chat exchange:{}", payload);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to log chat exchange!", exception);
+        }
+    }
+
+    private record LogEvent(ChatClientRequest chatClientRequest, ChatClientResponse chatClientResponse) {
+    }
+
+    private static final class BoundedPayload {
+
+        private final StringBuilder text = new StringBuilder();
+
+        private final int maximumLength;
+
+        private long truncatedLength;
+
+        BoundedPayload(int maximumLength) {
+            this.maximumLength = maximumLength;
+        }
+
+        void append(Message message) {
+            append(System.lineSeparator());
+            append(message.getMessageType().name());
+            append(": ");
+            append(Objects.requireNonNullElse(message.getText(), ""));
+        }
+
+        private void append(String value) {
+            var remainingLength = maximumLength - text.length();
+
+            if (value.length() <= remainingLength) {
+                text.append(value);
+            } else {
+                text.append(value, 0, Math.max(remainingLength, 0));
+                truncatedLength += value.length() - Math.max(remainingLength, 0);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return truncatedLength == 0L ? text.toString() : text + "... (" + truncatedLength + " characters truncated)";
+        }
+
+    }
+
+    private static final class RingBuffer<E> {
+
+        private final AtomicReferenceArray<@Nullable E> elements;
+
+        private final AtomicLongArray sequences;
+
+        private final int mask;
+
+        private final AtomicLong tail = new AtomicLong();
+
+        private long head;
+
+        RingBuffer(int minimumCapacity) {
+            var capacity = Integer.highestOneBit(minimumCapacity) == minimumCapacity ? minimumCapacity : Integer.highestOneBit(minimumCapacity) << 1;
+            this.elements = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+
+            for (var index = 0; index < capacity; index++) {
+                sequences.set(index, index);
+            }
+        }
+
+        boolean offer(E element) {
+            while (true) {
+                var position = tail.get();
+                var index = (int) (position & mask);
+                var difference = sequences.get(index) - position;
+
+                if (difference < 0L) {
+                    return false;
+                }
+
+                if (difference == 0L && tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+
+                    return true;
+                }
+            }
+        }
+
+        @Nullable E poll() {
+            var index = (int) (head & mask);
+
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+
+            var element = elements.getAndSet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+
+            return element;
+        }
+
+    }
+
+}
@@ -1,30 +1,171 @@
 package com.github.nicolaskrier.experimental.spring.ai.chat.model;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 @SpringBootApplication
 class ChatModelExample {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ChatModelExample.class);
 
+    @Value("${concurrent-callers:1}")
+    private int concurrentCallers;
+
+    @Value("${routed-calls:1}")
+    private int routedCalls;
+
+    @Value("${ollama-keep-alive:30m}")
+    private Duration ollamaKeepAlive;
+
+    @Value("${ollama-keep-alive-refresh-interval:1m}")
+    private Duration ollamaKeepAliveRefreshInterval;
+
+    @Bean
+    static BeanPostProcessor coalescingChatModelBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider, @Value("${chat-model-name}") String chatModelName, Environment environment) {
+        var routing = environment.matchesProfiles("routing");
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ChatModel chatModel && !(bean instanceof CoalescingChatModel) && (!routing || bean instanceof RoutingChatModel)) {
+                    return new CoalescingChatModel(chatModel, chatModelName, meterRegistryProvider.getObject());
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @Profile("stub & !routing")
+    StubChatModel stubChatModel(@Value("${stub-latency}") Duration stubLatency) {
+        return new StubChatModel("Leo XIV", stubLatency);
+    }
+
+    @Bean("ollamaChatModel")
+    @Profile("stub & routing")
+    StubChatModel ollamaStubChatModel(@Value("${stub-ollama-latency}") Duration latency, @Value("${stub-ollama-spike-latency}") Duration spikeLatency, @Value("${stub-ollama-spike-probability}") double spikeProbability, @Value("${stub-ollama-error-probability}") double errorProbability) {
+        return new StubChatModel("Leo XIV", latency, spikeLatency, spikeProbability, errorProbability);
+    }
+
+    @Bean("mistralAiChatModel")
+    @Profile("stub & routing")
+    StubChatModel mistralAiStubChatModel(@Value("${stub-mistral-ai-latency}") Duration latency, @Value("${stub-mistral-ai-spike-latency}") Duration spikeLatency, @Value("${stub-mistral-ai-spike-probability}") double spikeProbability, @Value("${stub-mistral-ai-error-probability}") double errorProbability) {
+        return new StubChatModel("Leo XIV", latency, spikeLatency, spikeProbability, errorProbability);
+    }
+
+    @Bean
+    @Primary
+    @Profile("routing")
+    RoutingChatModel routingChatModel(@Qualifier("ollamaChatModel") ChatModel ollamaChatModel, @Qualifier("mistralAiChatModel") ChatModel mistralAiChatModel, @Value("${routing-hedging:true}") boolean hedging, @Value("${routing-minimum-hedge-delay:100ms}") Duration minimumHedgeDelay, MeterRegistry meterRegistry) {
+        var backends = List.of(new RoutingChatModel.Backend("ollama", ollamaChatModel), new RoutingChatModel.Backend("mistral-ai", mistralAiChatModel));
+
+        return new RoutingChatModel(backends, hedging, minimumHedgeDelay, meterRegistry);
+    }
+
     @Bean
-    ApplicationRunner applicationRunner(ChatModel chatModel) {
+    @Profile("ollama")
+    OllamaModelWarmer ollamaModelWarmer(OllamaApi ollamaApi, @Value("${spring.ai.ollama.chat.model}") String chatModel, MeterRegistry meterRegistry) {
+        return new OllamaModelWarmer(ollamaApi, List.of(chatModel), List.of(), ollamaKeepAlive, ollamaKeepAliveRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    @Order(0)
+    @Profile("ollama")
+    ApplicationRunner ollamaWarmUpApplicationRunner(OllamaModelWarmer ollamaModelWarmer) {
+        return _ -> ollamaModelWarmer.warmUp();
+    }
+
+    @Bean
+    @Profile("ollama-stub")
+    OllamaLoadingStubServer ollamaLoadingStubServer(@Value("${ollama-stub-port}") int port, @Value("${ollama-stub-load-delay:3s}") Duration loadDelay, @Value("${ollama-stub-default-keep-alive:5m}") Duration defaultKeepAlive, JsonMapper jsonMapper) throws IOException {
+        return new OllamaLoadingStubServer(port, "Leo XIV", loadDelay, defaultKeepAlive, jsonMapper);
+    }
+
+    @Bean
+    ApplicationRunner applicationRunner(ChatModel chatModel, MeterRegistry meterRegistry) {
         return _ -> {
             var systemMessage = new SystemMessage("You are a helpful assistant that helps people find information. You don't provide any explanations, just the answers. For simple answers, no punctuation is needed.");
             var userMessage = new UserMessage("Who is the current pope? Roman numbers could be used if necessary.");
+
+            if (routedCalls > 1) {
+                callRepeatedly(chatModel, systemMessage, userMessage, meterRegistry);
+
+                return;
+            }
+
+            if (concurrentCallers > 1) {
+                callConcurrently(chatModel, systemMessage, userMessage, meterRegistry);
+
+                return;
+            }
+
             var generatedTextOutput = chatModel.call(systemMessage, userMessage);
             LOGGER.info("The current pope is '{}'.", generatedTextOutput);
         };
     }
 
+    private void callConcurrently(ChatModel chatModel, SystemMessage systemMessage, UserMessage userMessage, MeterRegistry meterRegistry) {
+        try (var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            var generatedTextOutputFutures = IntStream.range(0, concurrentCallers)
+                    .mapToObj(_ -> executorService.submit(() -> chatModel.call(systemMessage, userMessage)))
+                    .toList();
+
+            for (var generatedTextOutputFuture : generatedTextOutputFutures) {
+                LOGGER.info("The current pope is '{}'.", generatedTextOutputFuture.get());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling chat model concurrently!", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Unable to call chat model concurrently!", exception.getCause());
+        }
+
+        var upstreamCalls = meterRegistry.get("chat.model.coalescing.calls").tag("result", "upstream").counter().count();
+        var coalescedCalls = meterRegistry.get("chat.model.coalescing.calls").tag("result", "coalesced").counter().count();
+        LOGGER.info("{} concurrent callers served by {} upstream calls ({} coalesced).", concurrentCallers, (long) upstreamCalls, (long) coalescedCalls);
+    }
+
+    private void callRepeatedly(ChatModel chatModel, SystemMessage systemMessage, UserMessage userMessage, MeterRegistry meterRegistry) {
+        for (var routedCall = 0; routedCall < routedCalls; routedCall++) {
+            LOGGER.info("The current pope is '{}'.", chatModel.call(systemMessage, userMessage));
+        }
+
+        for (var latencyTimer : meterRegistry.get("chat.model.routing.latency").timers()) {
+            LOGGER.info("Backend '{}' answered {} calls with a mean latency of {} ms.", latencyTimer.getId().getTag("backend"), latencyTimer.count(), (long) latencyTimer.mean(TimeUnit.MILLISECONDS));
+        }
+
+        var firedHedges = meterRegistry.get("chat.model.routing.hedges").tag("result", "fired").counter().count();
+        var wonHedges = meterRegistry.get("chat.model.routing.hedges").tag("result", "won").counter().count();
+        LOGGER.info("{} routed calls fired {} hedged calls ({} won by the hedge).", routedCalls, (long) firedHedges, (long) wonHedges);
+    }
+
     static void main() {
         SpringApplication.run(ChatModelExample.class);
     }
@@ -0,0 +1,111 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.model;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+class CoalescingChatModel implements ChatModel, AutoCloseable {
+
+    private final ChatModel delegate;
+
+    private final ConcurrentHashMap<CoalescingKey, CompletableFuture<ChatResponse>> inFlightCalls = new ConcurrentHashMap<>();
+
+    private final Counter upstreamCallsCounter;
+
+    private final Counter coalescedCallsCounter;
+
+    CoalescingChatModel(ChatModel delegate, String modelName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.upstreamCallsCounter = Counter.builder("chat.model.coalescing.calls")
+                .tag("model", modelName)
+                .tag("result", "upstream")
+                .register(meterRegistry);
+        this.coalescedCallsCounter = Counter.builder("chat.model.coalescing.calls")
+                .tag("model", modelName)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("chat.model.coalescing.in-flight", inFlightCalls, ConcurrentHashMap::size)
+                .tag("model", modelName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        var coalescingKey = CoalescingKey.of(prompt);
+        var chatResponseFuture = new CompletableFuture<ChatResponse>();
+        var inFlightChatResponseFuture = inFlightCalls.putIfAbsent(coalescingKey, chatResponseFuture);
+
+        if (inFlightChatResponseFuture != null) {
+            coalescedCallsCounter.increment();
+
+            return await(inFlightChatResponseFuture);
+        }
+
+        upstreamCallsCounter.increment();
+
+        try {
+            var chatResponse = delegate.call(prompt);
+            chatResponseFuture.complete(chatResponse);
+
+            return chatResponse;
+        } catch (RuntimeException exception) {
+            chatResponseFuture.completeExceptionally(exception);
+
+            throw exception;
+        } finally {
+            inFlightCalls.remove(coalescingKey, chatResponseFuture);
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return delegate.stream(prompt);
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable autoCloseable) {
+            autoCloseable.close();
+        }
+    }
+
+    private static ChatResponse await(CompletableFuture<ChatResponse> chatResponseFuture) {
+        try {
+            return chatResponseFuture.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while waiting for a coalesced chat model call!", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException("Coalesced chat model call failed!", exception.getCause());
+        }
+    }
+
+    private record CoalescingKey(List<Message> messages, @Nullable ChatOptions chatOptions) {
+        static CoalescingKey of(Prompt prompt) {
+            return new CoalescingKey(List.copyOf(prompt.getInstructions()), prompt.getOptions());
+        }
+    }
+
+}
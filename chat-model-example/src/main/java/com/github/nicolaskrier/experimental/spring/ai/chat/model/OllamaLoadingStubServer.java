@@ -0,0 +1,133 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.model;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+class OllamaLoadingStubServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OllamaLoadingStubServer.class);
+
+    private static final Pattern KEEP_ALIVE_PATTERN = Pattern.compile("(-?\\d+)([smh]?)");
+
+    private final HttpServer httpServer;
+
+    private final JsonMapper jsonMapper;
+
+    private final String answer;
+
+    private final long loadDelayNanos;
+
+    private final long defaultKeepAliveNanos;
+
+    private final Map<String, Long> residentModels = new HashMap<>();
+
+    private long modelLoads;
+
+    OllamaLoadingStubServer(int port, String answer, Duration loadDelay, Duration defaultKeepAlive, JsonMapper jsonMapper) throws IOException {
+        this.jsonMapper = jsonMapper;
+        this.answer = answer;
+        this.loadDelayNanos = loadDelay.toNanos();
+        this.defaultKeepAliveNanos = defaultKeepAlive.toNanos();
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.httpServer.createContext("/api/chat", this::chat);
+        this.httpServer.start();
+        LOGGER.info("Ollama stub server simulating a {} ms model load delay on port {}.", loadDelay.toMillis(), httpServer.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+
+        synchronized (this) {
+            LOGGER.info("Ollama stub server loaded models {} times.", modelLoads);
+        }
+    }
+
+    private void chat(HttpExchange httpExchange) throws IOException {
+        try (httpExchange) {
+            var startTime = System.nanoTime();
+            var requestBody = jsonMapper.readTree(httpExchange.getRequestBody());
+            var model = requestBody.path("model").asString();
+            var loadDurationNanos = load(model, keepAliveNanos(requestBody.path("keep_alive")));
+            var responseBody = jsonMapper.writeValueAsBytes(chatResponse(model, requestBody, loadDurationNanos, System.nanoTime() - startTime));
+            httpExchange.getResponseHeaders().set("Content-Type", "application/json");
+            httpExchange.sendResponseHeaders(200, responseBody.length);
+            httpExchange.getResponseBody().write(responseBody);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long load(String model, long keepAliveNanos) throws InterruptedException {
+        long loadDurationNanos;
+
+        synchronized (this) {
+            var now = System.nanoTime();
+            var residentUntil = residentModels.get(model);
+            loadDurationNanos = residentUntil == null || residentUntil - now <= 0L ? loadDelayNanos : 0L;
+
+            if (loadDurationNanos > 0L) {
+                modelLoads++;
+            }
+
+            residentModels.put(model, now + loadDurationNanos + (keepAliveNanos < 0L ? Long.MAX_VALUE / 4 : keepAliveNanos));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(loadDurationNanos);
+
+        return loadDurationNanos;
+    }
+
+    private long keepAliveNanos(JsonNode keepAlive) {
+        if (keepAlive.isNumber()) {
+            return TimeUnit.SECONDS.toNanos(keepAlive.asLong());
+        }
+
+        var matcher = KEEP_ALIVE_PATTERN.matcher(keepAlive.asString(""));
+
+        if (!matcher.matches()) {
+            return defaultKeepAliveNanos;
+        }
+
+        var value = Long.parseLong(matcher.group(1));
+
+        return switch (matcher.group(2)) {
+            case "m" -> TimeUnit.MINUTES.toNanos(value);
+            case "h" -> TimeUnit.HOURS.toNanos(value);
+            default -> TimeUnit.SECONDS.toNanos(value);
+        };
+    }
+
+    private Map<String, Object> chatResponse(String model, JsonNode requestBody, long loadDurationNanos, long totalDurationNanos) {
+        var content = requestBody.path("messages").isEmpty() ? "" : answer;
+
+        return Map.of(
+                "model", model,
+                "created_at", Instant.now().toString(),
+                "message", Map.of("role", "assistant", "content", content),
+                "done_reason", content.isEmpty() ? "load" : "stop",
+                "done", true,
+                "total_duration", totalDurationNanos,
+                "load_duration", loadDurationNanos,
+                "prompt_eval_count", 0,
+                "eval_count", 0
+        );
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.model;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+class RoutingChatModel implements ChatModel, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoutingChatModel.class);
+
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private static final double EXPLORATION_PROBABILITY = 0.05;
+
+    private static final double MAXIMUM_ERROR_RATE = 0.95;
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final List<Backend> backends;
+
+    private final boolean hedging;
+
+    private final long minimumHedgeDelayNanos;
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter firedHedgesCounter;
+
+    private final Counter wonHedgesCounter;
+
+    RoutingChatModel(List<Backend> backends, boolean hedging, Duration minimumHedgeDelay, MeterRegistry meterRegistry) {
+        if (backends.size() < 2) {
+            throw new IllegalArgumentException("At least two backends are required to route chat model calls!");
+        }
+
+        this.backends = List.copyOf(backends);
+        this.hedging = hedging;
+        this.minimumHedgeDelayNanos = minimumHedgeDelay.toNanos();
+        this.backends.forEach(backend -> backend.bindTo(meterRegistry));
+        this.firedHedgesCounter = Counter.builder("chat.model.routing.hedges").tag("result", "fired").register(meterRegistry);
+        this.wonHedgesCounter = Counter.builder("chat.model.routing.hedges").tag("result", "won").register(meterRegistry);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        var rankedBackends = rankBackends();
+        var primaryBackend = rankedBackends.getFirst();
+
+        if (!hedging) {
+            return callWithFailover(prompt, rankedBackends);
+        }
+
+        var completionService = new ExecutorCompletionService<ChatResponse>(executorService);
+        var backendFutures = new ArrayList<Future<ChatResponse>>(2);
+        backendFutures.add(completionService.submit(() -> primaryBackend.call(prompt)));
+        RuntimeException failure = null;
+
+        try {
+            var completedFuture = completionService.poll(hedgeDelayNanos(primaryBackend), TimeUnit.NANOSECONDS);
+
+            if (completedFuture == null || isFailed(completedFuture)) {
+                var hedgeBackend = rankedBackends.get(1);
+                LOGGER.debug("Hedging chat model call of backend '{}' with backend '{}'.", primaryBackend.name(), hedgeBackend.name());
+                firedHedgesCounter.increment();
+                backendFutures.add(completionService.submit(() -> hedgeBackend.call(prompt)));
+            }
+
+            for (var remainingFutures = backendFutures.size(); remainingFutures > 0; remainingFutures--) {
+                if (completedFuture == null) {
+                    completedFuture = completionService.take();
+                }
+
+                try {
+                    var chatResponse = completedFuture.get();
+
+                    if (completedFuture != backendFutures.getFirst()) {
+                        wonHedgesCounter.increment();
+                    }
+
+                    return chatResponse;
+                } catch (ExecutionException exception) {
+                    failure = exception.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException("Chat model call failed!", exception.getCause());
+                }
+
+                completedFuture = null;
+            }
+
+            throw failure != null ? failure : new IllegalStateException("No chat model backend answered!");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while routing chat model call!", exception);
+        } finally {
+            backendFutures.forEach(backendFuture -> backendFuture.cancel(true));
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return rankBackends().getFirst().chatModel().stream(prompt);
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    private ChatResponse callWithFailover(Prompt prompt, List<Backend> rankedBackends) {
+        RuntimeException failure = null;
+
+        for (var backend : rankedBackends) {
+            try {
+                return backend.call(prompt);
+            } catch (RuntimeException exception) {
+                failure = exception;
+                LOGGER.warn("Chat model backend '{}' failed, failing over to the next one.", backend.name(), exception);
+            }
+        }
+
+        throw failure;
+    }
+
+    private List<Backend> rankBackends() {
+        var rankedBackends = new ArrayList<>(backends);
+        rankedBackends.sort(Comparator.comparingDouble(Backend::score));
+
+        if (ThreadLocalRandom.current().nextDouble() < EXPLORATION_PROBABILITY) {
+            var exploredBackend = rankedBackends.remove(1 + ThreadLocalRandom.current().nextInt(rankedBackends.size() - 1));
+            rankedBackends.addFirst(exploredBackend);
+        }
+
+        return rankedBackends;
+    }
+
+    private long hedgeDelayNanos(Backend backend) {
+        return Math.max(backend.latencyPercentileNanos(HEDGE_PERCENTILE), minimumHedgeDelayNanos);
+    }
+
+    private static boolean isFailed(Future<ChatResponse> future) {
+        return future.state() == Future.State.FAILED;
+    }
+
+    static final class Backend {
+
+        private final String name;
+
+        private final ChatModel chatModel;
+
+        private double latencyEwmaNanos;
+
+        private double errorRateEwma;
+
+        private boolean latencySampled;
+
+        private boolean errorRateSampled;
+
+        private @Nullable Timer latencyTimer;
+
+        private @Nullable Counter errorCounter;
+
+        Backend(String name, ChatModel chatModel) {
+            this.name = name;
+            this.chatModel = chatModel;
+        }
+
+        String name() {
+            return name;
+        }
+
+        ChatModel chatModel() {
+            return chatModel;
+        }
+
+        private void bindTo(MeterRegistry meterRegistry) {
+            latencyTimer = Timer.builder("chat.model.routing.latency")
+                    .tag("backend", name)
+                    .publishPercentiles(HEDGE_PERCENTILE)
+                    .register(meterRegistry);
+            errorCounter = Counter.builder("chat.model.routing.errors")
+                    .tag("backend", name)
+                    .register(meterRegistry);
+            Gauge.builder("chat.model.routing.latency.ewma", this, Backend::latencyEwmaMillis)
+                    .tag("backend", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("chat.model.routing.error-rate.ewma", this, Backend::errorRateEwma)
+                    .tag("backend", name)
+                    .register(meterRegistry);
+        }
+
+        private ChatResponse call(Prompt prompt) {
+            var startTime = System.nanoTime();
+
+            try {
+                var chatResponse = chatModel.call(prompt);
+                var latencyNanos = System.nanoTime() - startTime;
+                Objects.requireNonNull(latencyTimer).record(latencyNanos, TimeUnit.NANOSECONDS);
+                recordSuccess(latencyNanos);
+
+                return chatResponse;
+            } catch (RuntimeException exception) {
+                if (Thread.currentThread().isInterrupted()) {
+                    recordCancellation(System.nanoTime() - startTime);
+                } else {
+                    Objects.requireNonNull(errorCounter).increment();
+                    recordFailure();
+                }
+
+                throw exception;
+            }
+        }
+
+        private synchronized void recordSuccess(long latencyNanos) {
+            recordLatency(latencyNanos);
+            recordError(0.0);
+        }
+
+        private synchronized void recordFailure() {
+            recordError(1.0);
+        }
+
+        private synchronized void recordCancellation(long elapsedNanos) {
+            if (!latencySampled || elapsedNanos > latencyEwmaNanos) {
+                recordLatency(elapsedNanos);
+            }
+        }
+
+        private void recordLatency(long latencyNanos) {
+            if (!latencySampled) {
+                latencyEwmaNanos = latencyNanos;
+                latencySampled = true;
+            } else {
+                latencyEwmaNanos += SMOOTHING_FACTOR * (latencyNanos - latencyEwmaNanos);
+            }
+        }
+
+        private void recordError(double error) {
+            if (!errorRateSampled) {
+                errorRateEwma = error;
+                errorRateSampled = true;
+            } else {
+                errorRateEwma += SMOOTHING_FACTOR * (error - errorRateEwma);
+            }
+        }
+
+        private synchronized double latencyEwmaMillis() {
+            return latencyEwmaNanos / 1_000_000.0;
+        }
+
+        private synchronized double errorRateEwma() {
+            return errorRateEwma;
+        }
+
+        private synchronized double score() {
+            if (!latencySampled) {
+                return errorRateSampled ? Double.POSITIVE_INFINITY : 0.0;
+            }
+
+            return latencyEwmaNanos / (1.0 - Math.min(errorRateEwma, MAXIMUM_ERROR_RATE));
+        }
+
+        private long latencyPercentileNanos(double percentile) {
+            if (latencyTimer == null) {
+                return 0L;
+            }
+
+            for (var valueAtPercentile : latencyTimer.takeSnapshot().percentileValues()) {
+                if (valueAtPercentile.percentile() == percentile) {
+                    return (long) valueAtPercentile.value(TimeUnit.NANOSECONDS);
+                }
+            }
+
+            return 0L;
+        }
+
+    }
+
+}
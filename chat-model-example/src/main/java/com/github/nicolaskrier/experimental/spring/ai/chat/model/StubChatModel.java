@@ -0,0 +1,65 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.model;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class StubChatModel implements ChatModel {
+
+    private final String answer;
+
+    private final long latencyNanos;
+
+    private final long spikeLatencyNanos;
+
+    private final double spikeProbability;
+
+    private final double errorProbability;
+
+    private final AtomicLong callCount = new AtomicLong();
+
+    StubChatModel(String answer, Duration latency) {
+        this(answer, latency, Duration.ZERO, 0.0, 0.0);
+    }
+
+    StubChatModel(String answer, Duration latency, Duration spikeLatency, double spikeProbability, double errorProbability) {
+        this.answer = answer;
+        this.latencyNanos = latency.toNanos();
+        this.spikeLatencyNanos = spikeLatency.toNanos();
+        this.spikeProbability = spikeProbability;
+        this.errorProbability = errorProbability;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        callCount.incrementAndGet();
+        var random = ThreadLocalRandom.current();
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(random.nextDouble() < spikeProbability ? spikeLatencyNanos : latencyNanos);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while generating stub answer!", exception);
+        }
+
+        if (random.nextDouble() < errorProbability) {
+            throw new IllegalStateException("Stub chat model is unavailable!");
+        }
+
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(answer))));
+    }
+
+    long callCount() {
+        return callCount.get();
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.github.nicolaskrier.experimental.spring.ai.chat.model;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CoalescingChatModelTests {
+
+    private static final int CONCURRENT_CALLERS = 32;
+
+    private static final Duration STUB_LATENCY = Duration.ofMillis(500L);
+
+    private static final Prompt PROMPT = new Prompt(List.of(new SystemMessage("You are a helpful assistant."), new UserMessage("Who is the current pope?")));
+
+    @Test
+    void coalescesIdenticalConcurrentCallsIntoASingleUpstreamCall() throws Exception {
+        var stubChatModel = new StubChatModel("Leo XIV", STUB_LATENCY);
+        var meterRegistry = new SimpleMeterRegistry();
+        var coalescingChatModel = new CoalescingChatModel(stubChatModel, "stub", meterRegistry);
+
+        var chatResponses = new ArrayList<ChatResponse>();
+
+        for (var chatResponseFuture : callConcurrently(coalescingChatModel)) {
+            chatResponses.add(chatResponseFuture.get());
+        }
+
+        assertThat(stubChatModel.callCount()).isEqualTo(1L);
+        assertThat(chatResponses).hasSize(CONCURRENT_CALLERS).allSatisfy(chatResponse -> assertThat(chatResponse).isSameAs(chatResponses.getFirst()));
+        assertThat(meterRegistry.get("chat.model.coalescing.calls").tag("result", "coalesced").counter().count()).isEqualTo(CONCURRENT_CALLERS - 1.0);
+    }
+
+    @Test
+    void propagatesTheUpstreamExceptionToEveryCoalescedCaller() throws Exception {
+        var stubChatModel = new StubChatModel("Leo XIV", STUB_LATENCY, Duration.ZERO, 0.0, 1.0);
+        var coalescingChatModel = new CoalescingChatModel(stubChatModel, "stub", new SimpleMeterRegistry());
+
+        var exceptions = new ArrayList<Throwable>();
+
+        for (var chatResponseFuture : callConcurrently(coalescingChatModel)) {
+            exceptions.add(catchThrowable(chatResponseFuture::get));
+        }
+
+        assertThat(stubChatModel.callCount()).isEqualTo(1L);
+        assertThat(exceptions).hasSize(CONCURRENT_CALLERS).allSatisfy(exception -> {
+            assertThat(exception).isInstanceOf(ExecutionException.class);
+            assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class).isSameAs(exceptions.getFirst().getCause());
+        });
+    }
+
+    @Test
+    void callsUpstreamAgainOnceTheInFlightCallCompleted() {
+        var stubChatModel = new StubChatModel("Leo XIV", Duration.ZERO);
+        var coalescingChatModel = new CoalescingChatModel(stubChatModel, "stub", new SimpleMeterRegistry());
+
+        coalescingChatModel.call(PROMPT);
+        coalescingChatModel.call(PROMPT);
+
+        assertThat(stubChatModel.callCount()).isEqualTo(2L);
+    }
+
+    private static List<Future<ChatResponse>> callConcurrently(CoalescingChatModel coalescingChatModel) throws InterruptedException {
+        var startLatch = new CountDownLatch(1);
+        var readyLatch = new CountDownLatch(CONCURRENT_CALLERS);
+
+        try (var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            var chatResponseFutures = new ArrayList<Future<ChatResponse>>(CONCURRENT_CALLERS);
+
+            for (var caller = 0; caller < CONCURRENT_CALLERS; caller++) {
+                chatResponseFutures.add(executorService.submit(() -> {
+                    readyLatch.countDown();
+                    startLatch.await();
+
+                    return coalescingChatModel.call(PROMPT);
+                }));
+            }
+
+            readyLatch.await();
+            startLatch.countDown();
+
+            return chatResponseFutures;
+        }
+    }
+
+}
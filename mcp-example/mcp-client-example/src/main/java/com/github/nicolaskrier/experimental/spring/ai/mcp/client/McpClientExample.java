@@ -1,25 +1,42 @@
 package com.github.nicolaskrier.experimental.spring.ai.mcp.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 @SpringBootApplication
@@ -29,6 +46,8 @@ class McpClientExample {
 
     private static final String SEARCHED_POPE_KEY = "searched_pope";
 
+    private static final String PREVIOUS_SEARCHED_POPES_NUMBER_KEY = "previous_searched_popes_number";
+
     @Value("classpath:/prompts/system-prompt.txt")
     private Resource systemPromptResource;
 
@@ -38,51 +57,201 @@ class McpClientExample {
     @Value("classpath:/prompts/user-prompt.txt")
     private Resource userPromptResource;
 
+    @Value("classpath:/prompts/user-batch-templated-prompt.txt")
+    private Resource userBatchTemplatedPromptResource;
+
     @Value("${searched-pope:current}")
     private String searchedPope;
 
     @Value("${previous-searched-popes-number:0}")
     private int previousSearchedPopesNumber;
 
+    @Value("${previous-searched-popes-batch:false}")
+    private boolean previousSearchedPopesBatch;
+
+    @Value("${searched-pope-streaming:false}")
+    private boolean searchedPopeStreaming;
+
+    @Value("${answer-cache-maximum-size:1000}")
+    private int answerCacheMaximumSize;
+
+    @Value("${answer-cache-time-to-live:1h}")
+    private Duration answerCacheTimeToLive;
+
+    @Value("${tool-call-timeout:30s}")
+    private Duration toolCallTimeout;
+
+    @Value("${tool-result-cache-maximum-size:1000}")
+    private int toolResultCacheMaximumSize;
+
+    @Value("${tool-result-cache-conversation-scoped:false}")
+    private boolean toolResultCacheConversationScoped;
+
+    @Value("${current-date-time-tool-result-time-to-live:1m}")
+    private Duration currentDateTimeToolResultTimeToLive;
+
+    @Value("${chat-memory-durability:async}")
+    private WriteBehindChatMemoryRepository.Durability chatMemoryDurability;
+
+    @Value("${chat-memory-cache-maximum-size:1000}")
+    private int chatMemoryCacheMaximumSize;
+
+    @Value("${chat-memory-flush-interval:1s}")
+    private Duration chatMemoryFlushInterval;
+
+    @Value("${chat-memory-flush-batch-size:64}")
+    private int chatMemoryFlushBatchSize;
+
+    @Value("${logging-advisor-sampling-rate:1.0}")
+    private double loggingAdvisorSamplingRate;
+
+    @Value("${logging-advisor-maximum-payload-length:4096}")
+    private int loggingAdvisorMaximumPayloadLength;
+
+    @Value("${logging-advisor-buffer-capacity:1024}")
+    private int loggingAdvisorBufferCapacity;
+
+    @Value("${ollama-keep-alive:30m}")
+    private Duration ollamaKeepAlive;
+
+    @Value("${ollama-keep-alive-refresh-interval:1m}")
+    private Duration ollamaKeepAliveRefreshInterval;
+
+    private final MeterRegistry meterRegistry;
+
+    McpClientExample(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    @Primary
+    WriteBehindChatMemoryRepository writeBehindChatMemoryRepository(JdbcChatMemoryRepository jdbcChatMemoryRepository, PlatformTransactionManager transactionManager) {
+        return new WriteBehindChatMemoryRepository(jdbcChatMemoryRepository, new TransactionTemplate(transactionManager), chatMemoryDurability, chatMemoryCacheMaximumSize, chatMemoryFlushInterval, chatMemoryFlushBatchSize, meterRegistry);
+    }
+
+    @Bean
+    ParallelToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver, ObservationRegistry observationRegistry) {
+        var toolCallingManager = ToolCallingManager.builder()
+                .toolCallbackResolver(toolCallbackResolver)
+                .observationRegistry(observationRegistry)
+                .build();
+
+        return new ParallelToolCallingManager(toolCallingManager, toolCallbackResolver, observationRegistry, toolCallTimeout);
+    }
+
+    @Bean
+    SampledLoggerAdvisor sampledLoggerAdvisor() {
+        return new SampledLoggerAdvisor(loggingAdvisorSamplingRate, loggingAdvisorMaximumPayloadLength, loggingAdvisorBufferCapacity, meterRegistry);
+    }
+
     @Bean
-    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory, ToolCallbackProvider toolCallbackProvider) {
+    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory, ToolCallbackProvider toolCallbackProvider, SampledLoggerAdvisor sampledLoggerAdvisor) {
+        var answerCacheAdvisor = new AnswerCacheAdvisor("popes", answerCacheMaximumSize, answerCacheTimeToLive, null, 0.0, meterRegistry);
+        var memoizingToolCallbackProvider = new MemoizingToolCallbackProvider(toolCallbackProvider, toolResultCachePolicies(), toolResultCacheMaximumSize, meterRegistry);
+        var conversationId = UUID.randomUUID();
+
         return chatClientBuilder.defaultSystem(systemPromptResource)
-                .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, UUID.randomUUID()))
-                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), new SimpleLoggerAdvisor())
-                .defaultTools(toolCallbackProvider)
+                .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, conversationId))
+                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), answerCacheAdvisor, sampledLoggerAdvisor)
+                .defaultTools(memoizingToolCallbackProvider)
+                .defaultToolContext(Map.of(ChatMemory.CONVERSATION_ID, conversationId))
                 .build();
     }
 
     @Bean
-    ApplicationRunner applicationRunner(ChatClient chatClient) {
+    PrometheusMetricsFileExporter prometheusMetricsFileExporter(PrometheusMeterRegistry prometheusMeterRegistry, @Value("${metrics-export-path}") Path metricsExportPath) {
+        return new PrometheusMetricsFileExporter(prometheusMeterRegistry, metricsExportPath);
+    }
+
+    @Bean
+    StreamingPopeConverter streamingPopeConverter() {
+        return new StreamingPopeConverter(meterRegistry);
+    }
+
+    @Bean
+    @Profile("ollama")
+    OllamaModelWarmer ollamaModelWarmer(OllamaApi ollamaApi, @Value("${spring.ai.ollama.chat.model}") String chatModel) {
+        return new OllamaModelWarmer(ollamaApi, List.of(chatModel), List.of(), ollamaKeepAlive, ollamaKeepAliveRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    @Order(0)
+    @Profile("ollama")
+    ApplicationRunner ollamaWarmUpApplicationRunner(OllamaModelWarmer ollamaModelWarmer) {
+        return _ -> ollamaModelWarmer.warmUp();
+    }
+
+    @Bean
+    ApplicationRunner applicationRunner(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
         return _ -> {
-            searchPope(chatClient);
-            searchPreviousPopes(chatClient);
+            searchPope(chatClient, streamingPopeConverter);
+            searchPreviousPopes(chatClient, streamingPopeConverter);
         };
     }
 
-    private void searchPope(ChatClient chatClient) {
-        var prompt = PromptTemplate.builder()
+    private void searchPope(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        var prompt = renderPrompt(PromptTemplate.builder()
                 .resource(userTemplatedPromptResource)
                 .variables(Map.of(SEARCHED_POPE_KEY, searchedPope))
-                .build()
-                .create();
-        var pope = searchPope(prompt, chatClient);
+                .build());
+        var pope = searchPope(prompt, chatClient, streamingPopeConverter);
         LOGGER.info("The {} pope is: {}", searchedPope, pope);
     }
 
-    private void searchPreviousPopes(ChatClient chatClient) {
+    private void searchPreviousPopes(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        if (previousSearchedPopesBatch) {
+            searchPreviousPopesAtOnce(chatClient);
+
+            return;
+        }
+
         IntStream.range(0, previousSearchedPopesNumber).forEach(_ -> {
             var prompt = createUserPrompt();
-            var pope = searchPope(prompt, chatClient);
+            var pope = searchPope(prompt, chatClient, streamingPopeConverter);
             LOGGER.info("The previous pope is: {}", pope);
         });
     }
 
-    private static Pope searchPope(Prompt prompt, ChatClient chatClient) {
-        return chatClient.prompt(prompt)
+    private void searchPreviousPopesAtOnce(ChatClient chatClient) {
+        if (previousSearchedPopesNumber < 1) {
+            return;
+        }
+
+        var prompt = renderPrompt(PromptTemplate.builder()
+                .resource(userBatchTemplatedPromptResource)
+                .variables(Map.of(SEARCHED_POPE_KEY, searchedPope, PREVIOUS_SEARCHED_POPES_NUMBER_KEY, previousSearchedPopesNumber))
+                .build());
+        var popes = recordEntityCall(() -> chatClient.prompt(prompt)
+                .call()
+                .entity(new ParameterizedTypeReference<List<Pope>>() {}));
+        LOGGER.info("The {} previous popes are: {}", previousSearchedPopesNumber, popes);
+    }
+
+    private Pope searchPope(Prompt prompt, ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        if (searchedPopeStreaming) {
+            var contents = chatClient.prompt(streamingPopeConverter.withFormat(prompt))
+                    .stream()
+                    .content();
+
+            return streamingPopeConverter.convert(contents, (fieldName, value) -> LOGGER.debug("Pope field '{}' received: {}", fieldName, value));
+        }
+
+        return recordEntityCall(() -> chatClient.prompt(prompt)
                 .call()
-                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema);
+                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema));
+    }
+
+    private Map<String, ToolResultCache.Policy> toolResultCachePolicies() {
+        var popeSearchPolicy = ToolResultCache.Policy.indefinitely(toolResultCacheConversationScoped);
+
+        return Map.of(
+                "currentDateTime", ToolResultCache.Policy.expiringAfter(currentDateTimeToolResultTimeToLive, toolResultCacheConversationScoped),
+                "searchPopeByPontiffNumber", popeSearchPolicy,
+                "searchPopeByDate", popeSearchPolicy,
+                "searchPopesByPontiffNumbers", popeSearchPolicy,
+                "searchPopesByPontiffNumberRange", popeSearchPolicy,
+                "searchPopesByDateRange", popeSearchPolicy
+        );
     }
 
     private Prompt createUserPrompt() {
@@ -93,6 +262,18 @@ class McpClientExample {
         }
     }
 
+    private Prompt renderPrompt(PromptTemplate promptTemplate) {
+        return Timer.builder("chat.prompt.template.rendering")
+                .register(meterRegistry)
+                .record(() -> promptTemplate.create());
+    }
+
+    private <T> T recordEntityCall(Supplier<T> entityCall) {
+        return Timer.builder("chat.client.entity")
+                .register(meterRegistry)
+                .record(entityCall);
+    }
+
     static void main(String[] args) {
         SpringApplication.run(McpClientExample.class, args);
     }
@@ -0,0 +1,193 @@
+package com.github.nicolaskrier.experimental.spring.ai.mcp.client;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.observation.DefaultToolCallingObservationConvention;
+import org.springframework.ai.tool.observation.ToolCallingObservationContext;
+import org.springframework.ai.tool.observation.ToolCallingObservationDocumentation;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class ParallelToolCallingManager implements ToolCallingManager, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelToolCallingManager.class);
+
+    private static final DefaultToolCallingObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultToolCallingObservationConvention();
+
+    private final ToolCallingManager delegate;
+
+    private final ToolCallbackResolver toolCallbackResolver;
+
+    private final ObservationRegistry observationRegistry;
+
+    private final ToolExecutionExceptionProcessor toolExecutionExceptionProcessor = DefaultToolExecutionExceptionProcessor.builder().build();
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long toolCallTimeoutNanos;
+
+    ParallelToolCallingManager(ToolCallingManager delegate, ToolCallbackResolver toolCallbackResolver, ObservationRegistry observationRegistry, Duration toolCallTimeout) {
+        if (!toolCallTimeout.isPositive()) {
+            throw new IllegalArgumentException("Tool call timeout must be strictly positive!");
+        }
+
+        this.delegate = delegate;
+        this.toolCallbackResolver = toolCallbackResolver;
+        this.observationRegistry = observationRegistry;
+        this.toolCallTimeoutNanos = toolCallTimeout.toNanos();
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        var assistantMessage = chatResponse.getResults()
+                .stream()
+                .map(Generation::getOutput)
+                .filter(AssistantMessage::hasToolCalls)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No tool call requested by the chat model!"));
+        var toolCalls = assistantMessage.getToolCalls();
+
+        if (toolCalls.isEmpty() || !(prompt.getOptions() instanceof ToolCallingChatOptions toolCallingChatOptions)) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        var toolCallbacks = new ArrayList<ToolCallback>(toolCalls.size());
+
+        for (var toolCall : toolCalls) {
+            var toolCallback = resolveToolCallback(toolCall.name(), toolCallingChatOptions);
+
+            if (toolCallback == null) {
+                return delegate.executeToolCalls(prompt, chatResponse);
+            }
+
+            toolCallbacks.add(toolCallback);
+        }
+
+        var conversationHistory = new ArrayList<Message>(prompt.copy().getInstructions());
+        var toolContextMap = new HashMap<>(toolCallingChatOptions.getToolContext());
+        toolContextMap.put(ToolContext.TOOL_CALL_HISTORY, List.copyOf(conversationHistory));
+        var toolContext = new ToolContext(toolContextMap);
+        var toolResultFutures = new ArrayList<Future<String>>(toolCalls.size());
+
+        for (var index = 0; index < toolCalls.size(); index++) {
+            var toolCallback = toolCallbacks.get(index);
+            var toolInput = toolCalls.get(index).arguments();
+            toolResultFutures.add(executorService.submit(() -> callObserved(toolCallback, toolInput, toolContext)));
+        }
+
+        var deadline = System.nanoTime() + toolCallTimeoutNanos;
+        var toolResponses = new ArrayList<ToolResponseMessage.ToolResponse>(toolCalls.size());
+        var returnDirect = true;
+
+        try {
+            for (var index = 0; index < toolCalls.size(); index++) {
+                var toolCall = toolCalls.get(index);
+                var toolCallback = toolCallbacks.get(index);
+                var toolResult = awaitToolResult(toolResultFutures.get(index), toolCallback, deadline);
+                toolResponses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), toolResult));
+                returnDirect = returnDirect && toolCallback.getToolMetadata().returnDirect();
+            }
+        } finally {
+            toolResultFutures.forEach(toolResultFuture -> toolResultFuture.cancel(true));
+        }
+
+        conversationHistory.add(assistantMessage);
+        conversationHistory.add(ToolResponseMessage.builder().responses(toolResponses).build());
+
+        return ToolExecutionResult.builder()
+                .conversationHistory(conversationHistory)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    private @Nullable ToolCallback resolveToolCallback(String toolName, ToolCallingChatOptions toolCallingChatOptions) {
+        return toolCallingChatOptions.getToolCallbacks()
+                .stream()
+                .filter(toolCallback -> toolName.equals(toolCallback.getToolDefinition().name()))
+                .findFirst()
+                .orElseGet(() -> toolCallbackResolver.resolve(toolName));
+    }
+
+    private String callObserved(ToolCallback toolCallback, String toolInput, ToolContext toolContext) {
+        var observationContext = ToolCallingObservationContext.builder()
+                .toolDefinition(toolCallback.getToolDefinition())
+                .toolMetadata(toolCallback.getToolMetadata())
+                .toolCallArguments(toolInput)
+                .build();
+
+        return ToolCallingObservationDocumentation.TOOL_CALL
+                .observation(null, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, observationRegistry)
+                .observe(() -> {
+                    var toolResult = toolCallback.call(toolInput, toolContext);
+                    observationContext.setToolCallResult(toolResult);
+
+                    return toolResult;
+                });
+    }
+
+    private String awaitToolResult(Future<String> toolResultFuture, ToolCallback toolCallback, long deadline) {
+        var toolDefinition = toolCallback.getToolDefinition();
+
+        try {
+            return toolResultFuture.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            toolResultFuture.cancel(true);
+            LOGGER.warn("Tool '{}' did not complete within {} ms and has been cancelled.", toolDefinition.name(), TimeUnit.NANOSECONDS.toMillis(toolCallTimeoutNanos));
+
+            return toolExecutionExceptionProcessor.process(new ToolExecutionException(toolDefinition, exception));
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof ToolExecutionException toolExecutionException) {
+                return toolExecutionExceptionProcessor.process(toolExecutionException);
+            }
+
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException("Unable to call tool '%s'!".formatted(toolDefinition.name()), exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            toolResultFuture.cancel(true);
+
+            throw new IllegalStateException("Interrupted while calling tool '%s'!".formatted(toolDefinition.name()), exception);
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.github.nicolaskrier.experimental.spring.ai.mcp.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.converter.BeanOutputConverter;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+class StreamingPopeConverter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingPopeConverter.class);
+
+    private final BeanOutputConverter<Pope> beanOutputConverter = new BeanOutputConverter<>(Pope.class);
+
+    private final Map<String, Object> jsonSchema = beanOutputConverter.getJsonSchemaMap();
+
+    private final Timer timeToFirstTokenTimer;
+
+    private final Timer timeToFirstFieldTimer;
+
+    private final Timer timeToCompleteEntityTimer;
+
+    StreamingPopeConverter(MeterRegistry meterRegistry) {
+        this.timeToFirstTokenTimer = Timer.builder("chat.stream.time-to-first-token")
+                .register(meterRegistry);
+        this.timeToFirstFieldTimer = Timer.builder("chat.entity.stream.time-to-first-field")
+                .tag("entity", Pope.class.getSimpleName())
+                .register(meterRegistry);
+        this.timeToCompleteEntityTimer = Timer.builder("chat.entity.stream.time-to-complete-entity")
+                .tag("entity", Pope.class.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    Prompt withFormat(Prompt prompt) {
+        return prompt.augmentUserMessage(prompt.getUserMessage().getText() + System.lineSeparator() + beanOutputConverter.getFormat());
+    }
+
+    @Nullable Pope convert(Flux<String> contents, BiConsumer<String, @Nullable Object> fieldListener) {
+        var startTime = System.nanoTime();
+        var firstTokenReceived = new AtomicBoolean();
+        var firstFieldReceived = new AtomicBoolean();
+        var incrementalJsonObjectParser = new IncrementalJsonObjectParser((fieldName, value) -> {
+            if (firstFieldReceived.compareAndSet(false, true)) {
+                timeToFirstFieldTimer.record(Duration.ofNanos(System.nanoTime() - startTime));
+            }
+
+            fieldListener.accept(fieldName, value);
+        });
+        contents.toStream().forEach(content -> {
+            if (firstTokenReceived.compareAndSet(false, true)) {
+                timeToFirstTokenTimer.record(Duration.ofNanos(System.nanoTime() - startTime));
+            }
+
+            incrementalJsonObjectParser.feed(content);
+        });
+
+        if (!incrementalJsonObjectParser.isComplete()) {
+            if ("null".equals(incrementalJsonObjectParser.text().strip())) {
+                return null;
+            }
+
+            throw new IllegalStateException("Streamed response does not contain a complete JSON object: '" + incrementalJsonObjectParser.text() + "'!");
+        }
+
+        var timeToCompleteEntity = Duration.ofNanos(System.nanoTime() - startTime);
+        timeToCompleteEntityTimer.record(timeToCompleteEntity);
+        validate(incrementalJsonObjectParser.fields(), jsonSchema);
+        LOGGER.debug("Pope entity streamed in {} ms.", timeToCompleteEntity.toMillis());
+
+        return beanOutputConverter.convert(incrementalJsonObjectParser.json());
+    }
+
+    private static void validate(Map<String, Object> fields, Map<String, Object> jsonSchema) {
+        var properties = jsonSchema.get("properties") instanceof Map<?, ?> schemaProperties ? schemaProperties : Map.of();
+
+        if (jsonSchema.get("required") instanceof List<?> requiredFieldNames) {
+            requiredFieldNames.stream()
+                    .filter(requiredFieldName -> !fields.containsKey(requiredFieldName.toString()))
+                    .findFirst()
+                    .ifPresent(requiredFieldName -> {
+                        throw new IllegalStateException("Streamed pope misses required field '" + requiredFieldName + "'!");
+                    });
+        }
+
+        fields.forEach((fieldName, value) -> {
+            if (!(properties.get(fieldName) instanceof Map<?, ?> property)) {
+                if (Boolean.FALSE.equals(jsonSchema.get("additionalProperties"))) {
+                    throw new IllegalStateException("Streamed pope has unexpected field '" + fieldName + "'!");
+                }
+
+                return;
+            }
+
+            if (!matches(property, value)) {
+                throw new IllegalStateException("Streamed pope field '" + fieldName + "' does not match schema type " + property.get("type") + ": " + value + "!");
+            }
+        });
+    }
+
+    private static boolean matches(Map<?, ?> schema, @Nullable Object value) {
+        if (!matchesType(schema.get("type"), value)) {
+            return false;
+        }
+
+        if (value instanceof List<?> values && schema.get("items") instanceof Map<?, ?> itemSchema) {
+            return values.stream().allMatch(item -> matches(itemSchema, item));
+        }
+
+        return true;
+    }
+
+    private static boolean matchesType(@Nullable Object type, @Nullable Object value) {
+        if (type instanceof List<?> types) {
+            return types.stream().anyMatch(currentType -> matchesType(currentType, value));
+        }
+
+        if (!(type instanceof String typeName)) {
+            return true;
+        }
+
+        return switch (typeName) {
+            case "null" -> value == null;
+            case "string" -> value instanceof String;
+            case "integer" -> value instanceof Long;
+            case "number" -> value instanceof Number;
+            case "boolean" -> value instanceof Boolean;
+            case "array" -> value instanceof List<?>;
+            case "object" -> value instanceof Map<?, ?>;
+            default -> true;
+        };
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.github.nicolaskrier.experimental.spring.ai.mcp.load.generator;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+class McpLoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(McpLoadGenerator.class);
+
+    private static final String POPE_SEARCH_MCP_SERVER_CLASS_NAME = "com.github.nicolaskrier.experimental.spring.ai.pope.search.mcp.server.PopeSearchMcpServer";
+
+    private static final String TIME_MCP_SERVER_CLASS_NAME = "com.github.nicolaskrier.experimental.spring.ai.time.mcp.server.TimeMcpServer";
+
+    private static final String TIME_TOOL_NAME = "currentDateTime";
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final int sessions;
+
+    private final int[] targetRates;
+
+    private final Duration warmUpDuration;
+
+    private final Duration stepDuration;
+
+    private final int maximumInFlightCalls;
+
+    private final Duration p99LatencyLimit;
+
+    private final double errorRateLimit;
+
+    private final ToolCallMix toolCallMix;
+
+    private final SplittableRandom random = new SplittableRandom(42L);
+
+    private McpLoadGenerator() {
+        this.sessions = Integer.getInteger("mcp.load.sessions", 32);
+        this.targetRates = Arrays.stream(System.getProperty("mcp.load.target-rates", "100,200,400,800,1600,3200").split(","))
+                .map(String::strip)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        this.warmUpDuration = Duration.parse(System.getProperty("mcp.load.warm-up-duration", "PT5S"));
+        this.stepDuration = Duration.parse(System.getProperty("mcp.load.step-duration", "PT10S"));
+        this.maximumInFlightCalls = Integer.getInteger("mcp.load.maximum-in-flight-calls", 10_000);
+        this.p99LatencyLimit = Duration.parse(System.getProperty("mcp.load.p99-latency-limit", "PT0.1S"));
+        this.errorRateLimit = Double.parseDouble(System.getProperty("mcp.load.error-rate-limit", "0.01"));
+        this.toolCallMix = new ToolCallMix(System.getProperty("mcp.load.tool-call-mix", "searchPopeByPontiffNumber=5,searchPopeByDate=2,searchPopesByPontiffNumberRange=1,currentDateTime=2"));
+    }
+
+    private void run() {
+        var applicationContexts = new ArrayList<ConfigurableApplicationContext>();
+
+        try {
+            var popeSearchMcpServerUrl = System.getProperty("mcp.load.pope-search-mcp-server-url");
+            var timeMcpServerUrl = System.getProperty("mcp.load.time-mcp-server-url");
+
+            if (popeSearchMcpServerUrl == null) {
+                popeSearchMcpServerUrl = startInProcess(POPE_SEARCH_MCP_SERVER_CLASS_NAME, "pope-search-mcp-server", applicationContexts);
+            }
+
+            if (timeMcpServerUrl == null) {
+                timeMcpServerUrl = startInProcess(TIME_MCP_SERVER_CLASS_NAME, "time-mcp-server", applicationContexts);
+            }
+
+            var popeSearchMcpClients = connect(popeSearchMcpServerUrl);
+            var timeMcpClients = connect(timeMcpServerUrl);
+
+            try {
+                LOGGER.info("Warming up for {} with tool call mix {}.", warmUpDuration, toolCallMix.toolNames());
+                runStep(targetRates[0], warmUpDuration, popeSearchMcpClients, timeMcpClients);
+                LoadStepResult saturationStepResult = null;
+
+                for (var targetRate : targetRates) {
+                    var loadStepResult = runStep(targetRate, stepDuration, popeSearchMcpClients, timeMcpClients);
+                    LOGGER.info(loadStepResult.format());
+
+                    if (saturationStepResult == null && loadStepResult.isSaturated(p99LatencyLimit, errorRateLimit)) {
+                        saturationStepResult = loadStepResult;
+                    }
+                }
+
+                if (saturationStepResult != null) {
+                    LOGGER.info("Servers saturated at a target rate of {} calls/s (p99 limit {}, error rate limit {}).", saturationStepResult.targetRate(), p99LatencyLimit, errorRateLimit);
+                } else {
+                    LOGGER.info("Servers not saturated up to a target rate of {} calls/s.", targetRates[targetRates.length - 1]);
+                }
+            } finally {
+                popeSearchMcpClients.forEach(McpSyncClient::closeGracefully);
+                timeMcpClients.forEach(McpSyncClient::closeGracefully);
+            }
+        } finally {
+            applicationContexts.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    private LoadStepResult runStep(int targetRate, Duration duration, List<McpSyncClient> popeSearchMcpClients, List<McpSyncClient> timeMcpClients) {
+        var histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY_MICROS, 3);
+        var errors = new AtomicLong();
+        var droppedCalls = new AtomicLong();
+        var inFlightCalls = new AtomicInteger();
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / targetRate;
+        var callCount = duration.toNanos() / intervalNanos;
+        var startTime = System.nanoTime();
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var callIndex = 0L; callIndex < callCount; callIndex++) {
+                var intendedStartTime = startTime + callIndex * intervalNanos;
+                var delay = intendedStartTime - System.nanoTime();
+
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                if (inFlightCalls.incrementAndGet() > maximumInFlightCalls) {
+                    inFlightCalls.decrementAndGet();
+                    droppedCalls.incrementAndGet();
+
+                    continue;
+                }
+
+                var toolCall = toolCallMix.next(random);
+                var mcpClients = TIME_TOOL_NAME.equals(toolCall.toolName()) ? timeMcpClients : popeSearchMcpClients;
+                var mcpClient = mcpClients.get((int) (callIndex % mcpClients.size()));
+                executorService.execute(() -> {
+                    try {
+                        var callToolResult = mcpClient.callTool(new McpSchema.CallToolRequest(toolCall.toolName(), toolCall.arguments()));
+
+                        if (Boolean.TRUE.equals(callToolResult.isError())) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (RuntimeException exception) {
+                        errors.incrementAndGet();
+                        LOGGER.debug("Tool call '{}' failed.", toolCall.toolName(), exception);
+                    } finally {
+                        var latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartTime);
+                        histogram.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_LATENCY_MICROS));
+                        inFlightCalls.decrementAndGet();
+                    }
+                });
+            }
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+
+        return new LoadStepResult(targetRate, callCount, errors.get(), droppedCalls.get(), elapsed, histogram);
+    }
+
+    private List<McpSyncClient> connect(String url) {
+        var mcpClients = new ArrayList<McpSyncClient>(sessions);
+
+        for (var session = 0; session < sessions; session++) {
+            var transport = HttpClientStreamableHttpTransport.builder(url)
+                    .endpoint("/mcp")
+                    .build();
+            var mcpClient = McpClient.sync(transport)
+                    .requestTimeout(Duration.ofSeconds(30))
+                    .build();
+            mcpClient.initialize();
+            mcpClients.add(mcpClient);
+        }
+
+        LOGGER.info("Opened {} MCP client sessions to {}.", sessions, url);
+
+        return mcpClients;
+    }
+
+    private static String startInProcess(String className, String applicationName, List<ConfigurableApplicationContext> applicationContexts) {
+        try {
+            var applicationContext = new SpringApplicationBuilder(Class.forName(className))
+                    .run(
+                            "--server.port=0",
+                            "--spring.application.name=" + applicationName,
+                            "--spring.ai.mcp.server.name=" + applicationName,
+                            "--spring.ai.mcp.server.protocol=STATELESS",
+                            "--spring.threads.virtual.enabled=true"
+                    );
+            applicationContexts.add(applicationContext);
+            var url = "http://localhost:" + applicationContext.getEnvironment().getRequiredProperty("local.server.port");
+            LOGGER.info("Started {} in process on {}.", applicationName, url);
+
+            return url;
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException("Unable to find MCP server class '%s'!".formatted(className), exception);
+        }
+    }
+
+    static void main() {
+        new McpLoadGenerator().run();
+    }
+
+    record LoadStepResult(int targetRate, long calls, long errors, long droppedCalls, Duration elapsed, Histogram histogram) {
+        double achievedRate() {
+            return (calls - droppedCalls) / (elapsed.toNanos() / 1_000_000_000.0);
+        }
+
+        double errorRate() {
+            return calls == 0 ? 0.0 : (double) (errors + droppedCalls) / calls;
+        }
+
+        boolean isSaturated(Duration p99LatencyLimit, double errorRateLimit) {
+            return histogram.getValueAtPercentile(99.0) > p99LatencyLimit.toNanos() / 1_000
+                    || errorRate() > errorRateLimit
+                    || achievedRate() < 0.95 * targetRate;
+        }
+
+        String format() {
+            return "target %6d calls/s | achieved %9.1f calls/s | p50 %8.3f ms | p99 %8.3f ms | p99.9 %8.3f ms | max %8.3f ms | errors %.4f%% (%d failed, %d dropped)".formatted(
+                    targetRate,
+                    achievedRate(),
+                    histogram.getValueAtPercentile(50.0) / 1_000.0,
+                    histogram.getValueAtPercentile(99.0) / 1_000.0,
+                    histogram.getValueAtPercentile(99.9) / 1_000.0,
+                    histogram.getMaxValue() / 1_000.0,
+                    errorRate() * 100.0,
+                    errors,
+                    droppedCalls
+            );
+        }
+    }
+
+}
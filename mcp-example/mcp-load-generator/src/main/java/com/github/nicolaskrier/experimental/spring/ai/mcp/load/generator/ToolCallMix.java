@@ -0,0 +1,93 @@
+package com.github.nicolaskrier.experimental.spring.ai.mcp.load.generator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+class ToolCallMix {
+
+    private static final LocalDate FIRST_SEARCHED_DATE = LocalDate.of(1970, 1, 1);
+
+    private static final Map<String, Function<SplittableRandom, Map<String, Object>>> ARGUMENTS_GENERATORS = Map.of(
+            "currentDateTime", _ -> Map.of(),
+            "searchPopeByPontiffNumber", random -> Map.of("pontiffNumber", random.nextInt(260, 269)),
+            "searchPopeByDate", random -> Map.of("date", randomDate(random).toString()),
+            "searchPopesByPontiffNumbers", random -> Map.of("pontiffNumbers", random.ints(3, 260, 269).toArray()),
+            "searchPopesByPontiffNumberRange", random -> {
+                var fromPontiffNumber = random.nextInt(260, 269);
+
+                return Map.of("fromPontiffNumber", fromPontiffNumber, "toPontiffNumber", fromPontiffNumber + 3);
+            },
+            "searchPopesByDateRange", random -> {
+                var fromDate = randomDate(random);
+
+                return Map.of("fromDate", fromDate.toString(), "toDate", fromDate.plusYears(10).toString());
+            }
+    );
+
+    private final List<String> toolNames = new ArrayList<>();
+
+    private final int[] cumulativeWeights;
+
+    private final int totalWeight;
+
+    ToolCallMix(String mix) {
+        var weights = new ArrayList<Integer>();
+
+        for (var entry : mix.split(",")) {
+            var parts = entry.strip().split("=");
+            var toolName = parts[0].strip();
+
+            if (!ARGUMENTS_GENERATORS.containsKey(toolName)) {
+                throw new IllegalArgumentException("Tool '%s' is not supported, expecting one of %s!".formatted(toolName, ARGUMENTS_GENERATORS.keySet()));
+            }
+
+            var weight = parts.length > 1 ? Integer.parseInt(parts[1].strip()) : 1;
+
+            if (weight < 1) {
+                throw new IllegalArgumentException("Weight of tool '%s' must be strictly positive!".formatted(toolName));
+            }
+
+            toolNames.add(toolName);
+            weights.add(weight);
+        }
+
+        cumulativeWeights = new int[weights.size()];
+        var cumulativeWeight = 0;
+
+        for (var index = 0; index < weights.size(); index++) {
+            cumulativeWeight += weights.get(index);
+            cumulativeWeights[index] = cumulativeWeight;
+        }
+
+        totalWeight = cumulativeWeight;
+    }
+
+    ToolCall next(SplittableRandom random) {
+        var draw = random.nextInt(totalWeight);
+        var index = 0;
+
+        while (cumulativeWeights[index] <= draw) {
+            index++;
+        }
+
+        var toolName = toolNames.get(index);
+
+        return new ToolCall(toolName, ARGUMENTS_GENERATORS.get(toolName).apply(random));
+    }
+
+    List<String> toolNames() {
+        return List.copyOf(toolNames);
+    }
+
+    private static LocalDate randomDate(SplittableRandom random) {
+        return FIRST_SEARCHED_DATE.plusDays(random.nextLong(LocalDate.now().toEpochDay() - FIRST_SEARCHED_DATE.toEpochDay()));
+    }
+
+    record ToolCall(String toolName, Map<String, Object> arguments) {
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.nicolaskrier.experimental.spring.ai.pope.search.mcp.server;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+class PopeIndex {
+
+    private final int minimumPontiffNumber;
+
+    private final @Nullable Pope[] popesByPontiffNumber;
+
+    private final long[] pontiffStartEpochDays;
+
+    private final long[] pontiffEndEpochDays;
+
+    private final Pope[] popesByPontiffStartDate;
+
+    PopeIndex(List<Pope> popes) {
+        if (popes.isEmpty()) {
+            throw new IllegalArgumentException("Popes must not be empty!");
+        }
+
+        var minimumPontiffNumber = Integer.MAX_VALUE;
+        var maximumPontiffNumber = Integer.MIN_VALUE;
+
+        for (var pope : popes) {
+            minimumPontiffNumber = Math.min(minimumPontiffNumber, pope.pontiffNumber());
+            maximumPontiffNumber = Math.max(maximumPontiffNumber, pope.pontiffNumber());
+        }
+
+        this.minimumPontiffNumber = minimumPontiffNumber;
+        this.popesByPontiffNumber = new Pope[maximumPontiffNumber - minimumPontiffNumber + 1];
+
+        for (var pope : popes) {
+            var index = pope.pontiffNumber() - minimumPontiffNumber;
+
+            if (popesByPontiffNumber[index] != null) {
+                throw new IllegalArgumentException("Pontiff number %d is duplicated!".formatted(pope.pontiffNumber()));
+            }
+
+            popesByPontiffNumber[index] = pope;
+        }
+
+        this.popesByPontiffStartDate = popes.stream()
+                .sorted(Comparator.comparing(Pope::pontiffStartDate))
+                .toArray(Pope[]::new);
+        this.pontiffStartEpochDays = new long[popesByPontiffStartDate.length];
+        this.pontiffEndEpochDays = new long[popesByPontiffStartDate.length];
+
+        for (var index = 0; index < popesByPontiffStartDate.length; index++) {
+            var pope = popesByPontiffStartDate[index];
+            pontiffStartEpochDays[index] = pope.pontiffStartDate().toEpochDay();
+            pontiffEndEpochDays[index] = pope.pontiffEndDate() == null ? Long.MAX_VALUE : pope.pontiffEndDate().toEpochDay();
+
+            if (index > 0 && pontiffStartEpochDays[index] < pontiffEndEpochDays[index - 1]) {
+                throw new IllegalArgumentException("Pontiff periods of popes %d and %d overlap!".formatted(popesByPontiffStartDate[index - 1].pontiffNumber(), pope.pontiffNumber()));
+            }
+        }
+    }
+
+    int minimumPontiffNumber() {
+        return minimumPontiffNumber;
+    }
+
+    int maximumPontiffNumber() {
+        return minimumPontiffNumber + popesByPontiffNumber.length - 1;
+    }
+
+    @Nullable Pope findByPontiffNumber(int pontiffNumber) {
+        var index = pontiffNumber - minimumPontiffNumber;
+
+        if (index < 0 || index >= popesByPontiffNumber.length) {
+            return null;
+        }
+
+        return popesByPontiffNumber[index];
+    }
+
+    @Nullable Pope findByDate(LocalDate date) {
+        var epochDay = date.toEpochDay();
+        var index = Arrays.binarySearch(pontiffStartEpochDays, epochDay);
+
+        if (index < 0) {
+            index = -index - 2;
+        }
+
+        if (index < 0 || epochDay > pontiffEndEpochDays[index]) {
+            return null;
+        }
+
+        return popesByPontiffStartDate[index];
+    }
+
+    List<Pope> findByPontiffNumbers(int[] pontiffNumbers) {
+        var popes = new ArrayList<Pope>(pontiffNumbers.length);
+
+        for (var pontiffNumber : pontiffNumbers) {
+            var pope = findByPontiffNumber(pontiffNumber);
+
+            if (pope != null) {
+                popes.add(pope);
+            }
+        }
+
+        return popes;
+    }
+
+    List<Pope> findByPontiffNumberRange(int fromPontiffNumber, int toPontiffNumber) {
+        var fromIndex = Math.max(fromPontiffNumber - minimumPontiffNumber, 0);
+        var toIndex = Math.min(toPontiffNumber - minimumPontiffNumber, popesByPontiffNumber.length - 1);
+        var popes = new ArrayList<Pope>(Math.max(toIndex - fromIndex + 1, 0));
+
+        for (var index = fromIndex; index <= toIndex; index++) {
+            var pope = popesByPontiffNumber[index];
+
+            if (pope != null) {
+                popes.add(pope);
+            }
+        }
+
+        return popes;
+    }
+
+    List<Pope> findByDateRange(LocalDate fromDate, LocalDate toDate) {
+        var fromEpochDay = fromDate.toEpochDay();
+        var toEpochDay = toDate.toEpochDay();
+        var index = Arrays.binarySearch(pontiffStartEpochDays, fromEpochDay);
+
+        if (index < 0) {
+            index = Math.max(-index - 2, 0);
+        }
+
+        if (pontiffEndEpochDays[index] < fromEpochDay) {
+            index++;
+        }
+
+        var popes = new ArrayList<Pope>();
+
+        while (index < pontiffStartEpochDays.length && pontiffStartEpochDays[index] <= toEpochDay) {
+            popes.add(popesByPontiffStartDate[index++]);
+        }
+
+        return popes;
+    }
+
+}
@@ -1,17 +1,36 @@
 package com.github.nicolaskrier.experimental.spring.ai.pope.search.mcp.server;
 
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 class PopeSearchMcpServer {
 
+    private static final String SEARCH_POPE_BY_PONTIFF_NUMBER_TOOL_NAME = "searchPopeByPontiffNumber";
+
+    private static final String PONTIFF_NUMBER_PARAMETER_NAME = "pontiffNumber";
+
     @Bean
     ToolCallbackProvider popeSearchToolCallbackProvider(PopeSearchTools popeSearchTools) {
-        return MethodToolCallbackProvider.builder().toolObjects(popeSearchTools).build();
+        var toolCallbacks = Arrays.stream(MethodToolCallbackProvider.builder().toolObjects(popeSearchTools).build().getToolCallbacks())
+                .map(toolCallback -> preSerialized(toolCallback, popeSearchTools))
+                .toArray(ToolCallback[]::new);
+
+        return ToolCallbackProvider.from(toolCallbacks);
+    }
+
+    private static ToolCallback preSerialized(ToolCallback toolCallback, PopeSearchTools popeSearchTools) {
+        if (SEARCH_POPE_BY_PONTIFF_NUMBER_TOOL_NAME.equals(toolCallback.getToolDefinition().name())) {
+            return new PreSerializedPopeToolCallback(toolCallback, PONTIFF_NUMBER_PARAMETER_NAME, popeSearchTools.popeIndex());
+        }
+
+        return toolCallback;
     }
 
     static void main(String[] args) {
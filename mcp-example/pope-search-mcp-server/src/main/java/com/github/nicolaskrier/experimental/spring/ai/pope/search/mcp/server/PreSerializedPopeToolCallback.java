@@ -0,0 +1,122 @@
+package com.github.nicolaskrier.experimental.spring.ai.pope.search.mcp.server;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+class PreSerializedPopeToolCallback implements ToolCallback {
+
+    private static final String NULL_RESULT = "null";
+
+    private static final int UNPARSABLE_PONTIFF_NUMBER = -1;
+
+    private final ToolCallback delegate;
+
+    private final String parameterName;
+
+    private final int minimumPontiffNumber;
+
+    private final String[] resultsByPontiffNumber;
+
+    PreSerializedPopeToolCallback(ToolCallback delegate, String parameterName, PopeIndex popeIndex) {
+        var toolCallResultConverter = new DefaultToolCallResultConverter();
+        this.delegate = delegate;
+        this.parameterName = '"' + parameterName + '"';
+        this.minimumPontiffNumber = popeIndex.minimumPontiffNumber();
+        this.resultsByPontiffNumber = new String[popeIndex.maximumPontiffNumber() - minimumPontiffNumber + 1];
+
+        for (var index = 0; index < resultsByPontiffNumber.length; index++) {
+            var pope = popeIndex.findByPontiffNumber(minimumPontiffNumber + index);
+            resultsByPontiffNumber[index] = pope == null ? NULL_RESULT : toolCallResultConverter.convert(pope, Pope.class);
+        }
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        var result = cachedResult(toolInput);
+
+        return result != null ? result : delegate.call(toolInput);
+    }
+
+    @Override
+    public String call(String toolInput, @Nullable ToolContext toolContext) {
+        var result = cachedResult(toolInput);
+
+        return result != null ? result : delegate.call(toolInput, toolContext);
+    }
+
+    private @Nullable String cachedResult(String toolInput) {
+        var pontiffNumber = parsePontiffNumber(toolInput);
+
+        if (pontiffNumber == UNPARSABLE_PONTIFF_NUMBER) {
+            return null;
+        }
+
+        var index = pontiffNumber - minimumPontiffNumber;
+
+        return index >= 0 && index < resultsByPontiffNumber.length ? resultsByPontiffNumber[index] : NULL_RESULT;
+    }
+
+    private int parsePontiffNumber(String toolInput) {
+        var position = toolInput.indexOf(parameterName);
+
+        if (position < 0 || toolInput.indexOf(parameterName, position + 1) >= 0) {
+            return UNPARSABLE_PONTIFF_NUMBER;
+        }
+
+        position = skipWhitespaces(toolInput, position + parameterName.length());
+
+        if (position >= toolInput.length() || toolInput.charAt(position) != ':') {
+            return UNPARSABLE_PONTIFF_NUMBER;
+        }
+
+        position = skipWhitespaces(toolInput, position + 1);
+        var quoted = position < toolInput.length() && toolInput.charAt(position) == '"';
+
+        if (quoted) {
+            position++;
+        }
+
+        var digitsStart = position;
+        var value = 0;
+
+        while (position < toolInput.length() && Character.isDigit(toolInput.charAt(position)) && position - digitsStart < 9) {
+            value = value * 10 + toolInput.charAt(position) - '0';
+            position++;
+        }
+
+        if (position == digitsStart || quoted && (position >= toolInput.length() || toolInput.charAt(position++) != '"')) {
+            return UNPARSABLE_PONTIFF_NUMBER;
+        }
+
+        position = skipWhitespaces(toolInput, position);
+
+        if (position >= toolInput.length() || toolInput.charAt(position) != ',' && toolInput.charAt(position) != '}') {
+            return UNPARSABLE_PONTIFF_NUMBER;
+        }
+
+        return value;
+    }
+
+    private static int skipWhitespaces(String text, int position) {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+
+        return position;
+    }
+
+}
@@ -3,11 +3,18 @@ package com.github.nicolaskrier.experimental.spring.ai.ollama.api;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
 import static org.springframework.ai.ollama.api.OllamaApi.Message.Role.SYSTEM;
@@ -18,13 +25,30 @@ class OllamaApiExample {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OllamaApiExample.class);
 
+    @Value("${ollama-base-url:http://localhost:11434}")
+    private String ollamaBaseUrl;
+
+    @Value("${chat-streaming:false}")
+    private boolean chatStreaming;
+
     @Bean
     OllamaApi ollamaApi() {
-        return OllamaApi.builder().build();
+        return OllamaApi.builder().baseUrl(ollamaBaseUrl).build();
     }
 
     @Bean
-    ApplicationRunner applicationRunner(OllamaApi ollamaApi) {
+    OllamaChatStreamer ollamaChatStreamer() {
+        return new OllamaChatStreamer(ollamaBaseUrl);
+    }
+
+    @Bean
+    @Profile("stub")
+    OllamaStubServer ollamaStubServer(@Value("${ollama-stub-port}") int port, @Value("classpath:/recordings/chat-stream.ndjson") Resource recordedStreamResource, @Value("${ollama-stub-inter-chunk-delay:25ms}") Duration interChunkDelay) throws IOException {
+        return new OllamaStubServer(port, recordedStreamResource, interChunkDelay);
+    }
+
+    @Bean
+    ApplicationRunner applicationRunner(OllamaApi ollamaApi, OllamaChatStreamer ollamaChatStreamer) {
         return _ -> {
             var systemRequestMessage = OllamaApi.Message.builder(SYSTEM)
                     .content("You are a helpful assistant that helps people find information. You don't provide any explanations, just the answers. For simple answers, no punctuation is needed.")
@@ -34,7 +58,15 @@ class OllamaApiExample {
                     .build();
             var chatRequest = OllamaApi.ChatRequest.builder("ministral-3:14b")
                     .messages(List.of(systemRequestMessage, userRequestMessage))
+                    .stream(chatStreaming)
                     .build();
+
+            if (chatStreaming) {
+                streamChat(chatRequest, ollamaChatStreamer);
+
+                return;
+            }
+
             var chatResponse = ollamaApi.chat(chatRequest);
             var responseMessage = chatResponse.message();
             var responseMessageContent = responseMessage.content();
@@ -42,6 +74,23 @@ class OllamaApiExample {
         };
     }
 
+    private static void streamChat(OllamaApi.ChatRequest chatRequest, OllamaChatStreamer ollamaChatStreamer) throws IOException, InterruptedException {
+        var responseMessageContent = new ByteArrayOutputStream();
+        var streamStatistics = ollamaChatStreamer.stream(chatRequest, responseMessageContent::write);
+        LOGGER.info("The current pope is '{}'.", responseMessageContent.toString(StandardCharsets.UTF_8));
+        LOGGER.info(
+                "{} tokens streamed in {} ms: time to first token {} ms, mean inter-token latency {} ms, maximum inter-token latency {} ms, {} tokens/s according to Ollama ({} tokens in {} ms).",
+                streamStatistics.tokens(),
+                streamStatistics.totalDuration().toMillis(),
+                streamStatistics.timeToFirstToken().toMillis(),
+                streamStatistics.meanInterTokenLatency().toMillis(),
+                streamStatistics.maximumInterTokenLatency().toMillis(),
+                "%.1f".formatted(streamStatistics.evalTokensPerSecond()),
+                streamStatistics.evalCount(),
+                Duration.ofNanos(streamStatistics.evalDurationNanos()).toMillis()
+        );
+    }
+
     static void main() {
         SpringApplication.run(OllamaApiExample.class);
     }
@@ -0,0 +1,348 @@
+package com.github.nicolaskrier.experimental.spring.ai.ollama.api;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.ollama.api.OllamaApi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+class OllamaChatStreamer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] CONTENT_KEY = "\"content\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] DONE_KEY = "\"done\":true".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] EVAL_COUNT_KEY = "\"eval_count\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] EVAL_DURATION_KEY = "\"eval_duration\":".getBytes(StandardCharsets.US_ASCII);
+
+    private final URI chatUri;
+
+    private final HttpClient httpClient;
+
+    private final ConcurrentLinkedQueue<Buffers> bufferPool = new ConcurrentLinkedQueue<>();
+
+    OllamaChatStreamer(String baseUrl) {
+        this.chatUri = URI.create(baseUrl).resolve("/api/chat");
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    StreamStatistics stream(OllamaApi.ChatRequest chatRequest, ContentListener contentListener) throws IOException, InterruptedException {
+        var httpRequest = HttpRequest.newBuilder(chatUri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ModelOptionsUtils.toJsonString(chatRequest)))
+                .build();
+        var startTime = System.nanoTime();
+        var httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+
+        try (var body = httpResponse.body()) {
+            if (httpResponse.statusCode() != 200) {
+                throw new IOException("Ollama chat streaming failed with status " + httpResponse.statusCode() + ": " + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            var buffers = acquireBuffers();
+
+            try {
+                return read(body, buffers, contentListener, startTime);
+            } finally {
+                bufferPool.offer(buffers);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private Buffers acquireBuffers() {
+        var buffers = bufferPool.poll();
+
+        return buffers != null ? buffers : new Buffers();
+    }
+
+    private static StreamStatistics read(InputStream body, Buffers buffers, ContentListener contentListener, long startTime) throws IOException {
+        var chunkStatistics = new ChunkStatistics(startTime);
+        buffers.lineLength = 0;
+        int readLength;
+
+        while ((readLength = body.read(buffers.read)) != -1) {
+            var lineStart = 0;
+
+            for (var index = 0; index < readLength; index++) {
+                if (buffers.read[index] == '\n') {
+                    buffers.appendToLine(lineStart, index - lineStart);
+                    parseChunk(buffers, contentListener, chunkStatistics);
+                    buffers.lineLength = 0;
+                    lineStart = index + 1;
+                }
+            }
+
+            buffers.appendToLine(lineStart, readLength - lineStart);
+        }
+
+        if (buffers.lineLength > 0) {
+            parseChunk(buffers, contentListener, chunkStatistics);
+        }
+
+        if (!chunkStatistics.done) {
+            throw new IOException("Ollama chat stream ended before its final chunk!");
+        }
+
+        return chunkStatistics.toStreamStatistics();
+    }
+
+    private static void parseChunk(Buffers buffers, ContentListener contentListener, ChunkStatistics chunkStatistics) throws IOException {
+        var line = buffers.line;
+        var lineLength = buffers.lineLength;
+
+        if (lineLength == 0) {
+            return;
+        }
+
+        var receptionTime = System.nanoTime();
+        var contentStart = indexOf(line, lineLength, CONTENT_KEY);
+
+        if (contentStart >= 0) {
+            var contentLength = unescape(line, contentStart + CONTENT_KEY.length, lineLength, buffers);
+
+            if (contentLength > 0) {
+                chunkStatistics.recordToken(receptionTime);
+                contentListener.onContent(buffers.content, 0, contentLength);
+            }
+        }
+
+        if (indexOf(line, lineLength, DONE_KEY) >= 0) {
+            chunkStatistics.done = true;
+            chunkStatistics.evalCount = parseLong(line, lineLength, EVAL_COUNT_KEY);
+            chunkStatistics.evalDurationNanos = parseLong(line, lineLength, EVAL_DURATION_KEY);
+        }
+    }
+
+    private static int unescape(byte[] line, int start, int lineLength, Buffers buffers) throws IOException {
+        buffers.ensureContentCapacity(lineLength - start);
+        var content = buffers.content;
+        var contentLength = 0;
+        var index = start;
+
+        while (index < lineLength) {
+            var value = line[index++];
+
+            if (value == '"') {
+                return contentLength;
+            }
+
+            if (value != '\\') {
+                content[contentLength++] = value;
+
+                continue;
+            }
+
+            if (index >= lineLength) {
+                break;
+            }
+
+            var escaped = line[index++];
+
+            switch (escaped) {
+                case 'n' -> content[contentLength++] = '\n';
+                case 'r' -> content[contentLength++] = '\r';
+                case 't' -> content[contentLength++] = '\t';
+                case 'b' -> content[contentLength++] = '\b';
+                case 'f' -> content[contentLength++] = '\f';
+                case 'u' -> {
+                    var codePoint = parseHexadecimal(line, index, lineLength);
+                    index += 4;
+
+                    if (Character.isHighSurrogate((char) codePoint) && index + 6 <= lineLength && line[index] == '\\' && line[index + 1] == 'u') {
+                        var lowSurrogate = parseHexadecimal(line, index + 2, lineLength);
+
+                        if (Character.isLowSurrogate((char) lowSurrogate)) {
+                            codePoint = Character.toCodePoint((char) codePoint, (char) lowSurrogate);
+                            index += 6;
+                        }
+                    }
+
+                    contentLength = encodeUtf8(codePoint, content, contentLength);
+                }
+                default -> content[contentLength++] = escaped;
+            }
+        }
+
+        throw new IOException("Unterminated content in Ollama chat stream chunk!");
+    }
+
+    private static int parseHexadecimal(byte[] line, int start, int lineLength) throws IOException {
+        if (start + 4 > lineLength) {
+            throw new IOException("Truncated unicode escape in Ollama chat stream chunk!");
+        }
+
+        var value = 0;
+
+        for (var index = start; index < start + 4; index++) {
+            var digit = Character.digit(line[index], 16);
+
+            if (digit < 0) {
+                throw new IOException("Invalid unicode escape in Ollama chat stream chunk!");
+            }
+
+            value = value << 4 | digit;
+        }
+
+        return value;
+    }
+
+    private static int encodeUtf8(int codePoint, byte[] content, int contentLength) {
+        if (codePoint < 0x80) {
+            content[contentLength++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            content[contentLength++] = (byte) (0xC0 | codePoint >> 6);
+            content[contentLength++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            content[contentLength++] = (byte) (0xE0 | codePoint >> 12);
+            content[contentLength++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            content[contentLength++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            content[contentLength++] = (byte) (0xF0 | codePoint >> 18);
+            content[contentLength++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            content[contentLength++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            content[contentLength++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+
+        return contentLength;
+    }
+
+    private static long parseLong(byte[] line, int lineLength, byte[] key) {
+        var index = indexOf(line, lineLength, key);
+
+        if (index < 0) {
+            return 0L;
+        }
+
+        var value = 0L;
+
+        for (index += key.length; index < lineLength && line[index] >= '0' && line[index] <= '9'; index++) {
+            value = value * 10 + line[index] - '0';
+        }
+
+        return value;
+    }
+
+    private static int indexOf(byte[] line, int lineLength, byte[] key) {
+        outer:
+        for (var index = 0; index <= lineLength - key.length; index++) {
+            for (var keyIndex = 0; keyIndex < key.length; keyIndex++) {
+                if (line[index + keyIndex] != key[keyIndex]) {
+                    continue outer;
+                }
+            }
+
+            return index;
+        }
+
+        return -1;
+    }
+
+    @FunctionalInterface
+    interface ContentListener {
+
+        void onContent(byte[] buffer, int offset, int length) throws IOException;
+
+    }
+
+    record StreamStatistics(int tokens, Duration timeToFirstToken, Duration meanInterTokenLatency, Duration maximumInterTokenLatency, Duration totalDuration, long evalCount, long evalDurationNanos) {
+        double evalTokensPerSecond() {
+            return evalDurationNanos == 0L ? 0.0 : evalCount * 1_000_000_000.0 / evalDurationNanos;
+        }
+    }
+
+    private static final class Buffers {
+
+        private final byte[] read = new byte[BUFFER_SIZE];
+
+        private byte[] line = new byte[BUFFER_SIZE];
+
+        private byte[] content = new byte[BUFFER_SIZE];
+
+        private int lineLength;
+
+        private void appendToLine(int offset, int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+
+            System.arraycopy(read, offset, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private void ensureContentCapacity(int escapedLength) {
+            if (escapedLength > content.length) {
+                content = new byte[Math.max(content.length * 2, escapedLength)];
+            }
+        }
+
+    }
+
+    private static final class ChunkStatistics {
+
+        private final long startTime;
+
+        private long firstTokenTime;
+
+        private long lastTokenTime;
+
+        private long maximumInterTokenLatencyNanos;
+
+        private int tokens;
+
+        private boolean done;
+
+        private long evalCount;
+
+        private long evalDurationNanos;
+
+        private ChunkStatistics(long startTime) {
+            this.startTime = startTime;
+        }
+
+        private void recordToken(long receptionTime) {
+            if (tokens == 0) {
+                firstTokenTime = receptionTime;
+            } else {
+                maximumInterTokenLatencyNanos = Math.max(maximumInterTokenLatencyNanos, receptionTime - lastTokenTime);
+            }
+
+            lastTokenTime = receptionTime;
+            tokens++;
+        }
+
+        private StreamStatistics toStreamStatistics() {
+            var meanInterTokenLatencyNanos = tokens < 2 ? 0L : (lastTokenTime - firstTokenTime) / (tokens - 1);
+
+            return new StreamStatistics(
+                    tokens,
+                    Duration.ofNanos(tokens == 0 ? 0L : firstTokenTime - startTime),
+                    Duration.ofNanos(meanInterTokenLatencyNanos),
+                    Duration.ofNanos(maximumInterTokenLatencyNanos),
+                    Duration.ofNanos(System.nanoTime() - startTime),
+                    evalCount,
+                    evalDurationNanos
+            );
+        }
+
+    }
+
+}
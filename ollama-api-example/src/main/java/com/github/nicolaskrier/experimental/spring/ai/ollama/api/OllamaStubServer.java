@@ -0,0 +1,64 @@
+package com.github.nicolaskrier.experimental.spring.ai.ollama.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class OllamaStubServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OllamaStubServer.class);
+
+    private final HttpServer httpServer;
+
+    private final List<byte[]> recordedChunks;
+
+    private final long interChunkDelayNanos;
+
+    OllamaStubServer(int port, Resource recordedStreamResource, Duration interChunkDelay) throws IOException {
+        this.recordedChunks = recordedStreamResource.getContentAsString(StandardCharsets.UTF_8)
+                .lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> (line + "\n").getBytes(StandardCharsets.UTF_8))
+                .toList();
+        this.interChunkDelayNanos = interChunkDelay.toNanos();
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.httpServer.createContext("/api/chat", this::replay);
+        this.httpServer.start();
+        LOGGER.info("Ollama stub server replaying {} recorded chunks on port {}.", recordedChunks.size(), httpServer.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+    }
+
+    private void replay(HttpExchange httpExchange) throws IOException {
+        try (httpExchange) {
+            httpExchange.getRequestBody().readAllBytes();
+            httpExchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            httpExchange.sendResponseHeaders(200, 0);
+            var responseBody = httpExchange.getResponseBody();
+
+            for (var recordedChunk : recordedChunks) {
+                TimeUnit.NANOSECONDS.sleep(interChunkDelayNanos);
+                responseBody.write(recordedChunk);
+                responseBody.flush();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
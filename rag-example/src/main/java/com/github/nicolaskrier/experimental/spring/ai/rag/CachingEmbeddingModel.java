@@ -0,0 +1,93 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Objects;
+
+class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+
+    private final EmbeddingCache embeddingCache;
+
+    private final String modelName;
+
+    CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCache embeddingCache, String modelName) {
+        this.delegate = delegate;
+        this.embeddingCache = embeddingCache;
+        this.modelName = modelName;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        var inputs = request.getInstructions();
+        var options = request.getOptions();
+        var requestedModelName = options != null && options.getModel() != null ? options.getModel() : modelName;
+        var requestedDimensions = options != null && options.getDimensions() != null ? options.getDimensions() : 0;
+        var vectors = new float[inputs.size()][];
+        var keys = new byte[inputs.size()][];
+        var missingIndexes = new ArrayList<Integer>();
+        var missingInputs = new ArrayList<String>();
+
+        for (var index = 0; index < inputs.size(); index++) {
+            keys[index] = key(requestedModelName, requestedDimensions, inputs.get(index));
+            vectors[index] = embeddingCache.get(keys[index]);
+
+            if (vectors[index] == null) {
+                missingIndexes.add(index);
+                missingInputs.add(inputs.get(index));
+            }
+        }
+
+        if (!missingInputs.isEmpty()) {
+            var missingResults = delegate.call(new EmbeddingRequest(missingInputs, options)).getResults();
+
+            for (var missingIndex = 0; missingIndex < missingResults.size(); missingIndex++) {
+                var index = missingIndexes.get(missingIndex);
+                vectors[index] = missingResults.get(missingIndex).getOutput();
+                embeddingCache.put(keys[index], vectors[index]);
+            }
+        }
+
+        var embeddings = new ArrayList<Embedding>(inputs.size());
+
+        for (var index = 0; index < inputs.size(); index++) {
+            embeddings.add(new Embedding(vectors[index], index));
+        }
+
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(Objects.requireNonNull(document.getText()));
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private static byte[] key(String modelName, int dimensions, String text) {
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(modelName.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(Integer.toString(dimensions).getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+
+            return messageDigest.digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 algorithm is not available!", exception);
+        }
+    }
+
+}
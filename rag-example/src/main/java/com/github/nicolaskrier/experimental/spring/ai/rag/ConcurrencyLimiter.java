@@ -0,0 +1,302 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+class ConcurrencyLimiter {
+
+    static final ScopedValue<Priority> PRIORITY = ScopedValue.newInstance();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final String RATE_LIMIT_REMAINING_HEADER = "RateLimit-Remaining";
+
+    private static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long DECREASE_INTERVAL_NANOS = NANOS_PER_SECOND;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition permitReleased = lock.newCondition();
+
+    private final int minimumLimit;
+
+    private final int maximumLimit;
+
+    private final double maximumPermitsPerSecond;
+
+    private final double burstPermits;
+
+    private final Map<Priority, Integer> waitingCallers = new EnumMap<>(Priority.class);
+
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+
+    private final Counter rateLimitedResponsesCounter;
+
+    private double limit;
+
+    private int inFlightCalls;
+
+    private double permitsPerSecond;
+
+    private double availablePermits;
+
+    private long lastRefillTime;
+
+    private long pausedUntilTime;
+
+    private long lastDecreaseTime;
+
+    ConcurrencyLimiter(int initialLimit, int minimumLimit, int maximumLimit, double maximumPermitsPerSecond, double burstPermits, MeterRegistry meterRegistry) {
+        if (minimumLimit < 1 || initialLimit < minimumLimit || maximumLimit < initialLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= minimum <= initial <= maximum!");
+        }
+
+        if (maximumPermitsPerSecond <= 0.0 || burstPermits < 1.0) {
+            throw new IllegalArgumentException("Permits per second must be strictly positive and burst permits at least one!");
+        }
+
+        this.minimumLimit = minimumLimit;
+        this.maximumLimit = maximumLimit;
+        this.maximumPermitsPerSecond = maximumPermitsPerSecond;
+        this.burstPermits = burstPermits;
+        this.limit = initialLimit;
+        this.permitsPerSecond = maximumPermitsPerSecond;
+        this.availablePermits = burstPermits;
+        this.lastRefillTime = System.nanoTime();
+        this.pausedUntilTime = lastRefillTime;
+        this.lastDecreaseTime = lastRefillTime - DECREASE_INTERVAL_NANOS;
+
+        for (var priority : Priority.values()) {
+            waitingCallers.put(priority, 0);
+            waitTimers.put(priority, Timer.builder("rag.limiter.wait").tag("priority", priority.tagValue()).register(meterRegistry));
+        }
+
+        this.rateLimitedResponsesCounter = Counter.builder("rag.limiter.rate-limited.responses").register(meterRegistry);
+        Gauge.builder("rag.limiter.limit", this, ConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("rag.limiter.in-flight", this, ConcurrencyLimiter::inFlightCalls).register(meterRegistry);
+        Gauge.builder("rag.limiter.permits-per-second", this, ConcurrencyLimiter::permitsPerSecond).register(meterRegistry);
+    }
+
+    <T> T call(Supplier<T> modelCall) {
+        acquire(PRIORITY.orElse(Priority.INTERACTIVE));
+        var succeeded = false;
+
+        try {
+            var result = modelCall.get();
+            succeeded = true;
+
+            return result;
+        } finally {
+            release(succeeded);
+        }
+    }
+
+    <T> Flux<T> stream(Supplier<Flux<T>> modelStream) {
+        return Flux.defer(() -> {
+            acquire(PRIORITY.orElse(Priority.INTERACTIVE));
+
+            try {
+                return modelStream.get().doFinally(signalType -> release(signalType == SignalType.ON_COMPLETE));
+            } catch (RuntimeException exception) {
+                release(false);
+
+                throw exception;
+            }
+        });
+    }
+
+    void onResponse(int statusCode, HttpHeaders headers) {
+        lock.lock();
+
+        try {
+            var now = System.nanoTime();
+
+            if (statusCode == TOO_MANY_REQUESTS_STATUS_CODE) {
+                rateLimitedResponsesCounter.increment();
+                decrease(now);
+                pausedUntilTime = Math.max(pausedUntilTime, now + longHeader(headers, RETRY_AFTER_HEADER, 1L) * NANOS_PER_SECOND);
+            }
+
+            var remainingRequests = longHeader(headers, RATE_LIMIT_REMAINING_HEADER, -1L);
+            var resetSeconds = longHeader(headers, RATE_LIMIT_RESET_HEADER, -1L);
+
+            if (remainingRequests >= 0L && resetSeconds >= 0L) {
+                refill(now);
+                permitsPerSecond = Math.clamp(remainingRequests / (double) Math.max(1L, resetSeconds), 1.0 / Math.max(1L, resetSeconds), maximumPermitsPerSecond);
+                availablePermits = Math.min(availablePermits, remainingRequests);
+            }
+
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(Priority priority) {
+        var startTime = System.nanoTime();
+        lock.lock();
+
+        try {
+            waitingCallers.merge(priority, 1, Integer::sum);
+
+            try {
+                for (var waitNanos = waitNanos(priority); waitNanos != 0L; waitNanos = waitNanos(priority)) {
+                    if (waitNanos < 0L) {
+                        permitReleased.await();
+                    } else {
+                        permitReleased.awaitNanos(waitNanos);
+                    }
+                }
+            } finally {
+                if (waitingCallers.merge(priority, -1, Integer::sum) == 0 && priority == Priority.INTERACTIVE) {
+                    permitReleased.signalAll();
+                }
+            }
+
+            availablePermits -= 1.0;
+            inFlightCalls++;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while waiting for a model call permit!", exception);
+        } finally {
+            lock.unlock();
+        }
+
+        waitTimers.get(priority).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    private void release(boolean succeeded) {
+        lock.lock();
+
+        try {
+            inFlightCalls--;
+
+            if (succeeded && inFlightCalls + 1 >= (int) limit) {
+                limit = Math.min(maximumLimit, limit + 1.0 / limit);
+            }
+
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long waitNanos(Priority priority) {
+        if (inFlightCalls >= (int) limit) {
+            return -1L;
+        }
+
+        if (priority == Priority.BULK && waitingCallers.get(Priority.INTERACTIVE) > 0) {
+            return -1L;
+        }
+
+        var now = System.nanoTime();
+
+        if (now < pausedUntilTime) {
+            return pausedUntilTime - now;
+        }
+
+        refill(now);
+
+        if (availablePermits >= 1.0) {
+            return 0L;
+        }
+
+        return Math.max(1L, (long) ((1.0 - availablePermits) / permitsPerSecond * NANOS_PER_SECOND));
+    }
+
+    private void refill(long now) {
+        availablePermits = Math.min(burstPermits, availablePermits + (now - lastRefillTime) * permitsPerSecond / NANOS_PER_SECOND);
+        lastRefillTime = now;
+    }
+
+    private void decrease(long now) {
+        if (now - lastDecreaseTime < DECREASE_INTERVAL_NANOS) {
+            return;
+        }
+
+        lastDecreaseTime = now;
+        limit = Math.max(minimumLimit, limit * BACKOFF_RATIO);
+        LOGGER.warn("Model provider rate limited a call, concurrency limit decreased to {}.", (int) limit);
+    }
+
+    private double limit() {
+        lock.lock();
+
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int inFlightCalls() {
+        lock.lock();
+
+        try {
+            return inFlightCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double permitsPerSecond() {
+        lock.lock();
+
+        try {
+            return permitsPerSecond;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long longHeader(HttpHeaders headers, String headerName, long defaultValue) {
+        var value = headers.getFirst(headerName);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException _) {
+            return defaultValue;
+        }
+    }
+
+    enum Priority {
+
+        INTERACTIVE,
+        BULK;
+
+        String tagValue() {
+            return name().toLowerCase();
+        }
+
+    }
+
+}
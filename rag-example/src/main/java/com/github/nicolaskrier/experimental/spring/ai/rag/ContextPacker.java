@@ -0,0 +1,155 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+class ContextPacker {
+
+    private static final Pattern WORD_SEPARATORS_PATTERN = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int tokenBudget;
+
+    private final double duplicateSimilarityThreshold;
+
+    private final Set<String> includedFields;
+
+    private final JsonMapper jsonMapper;
+
+    private final TokenCountEstimator tokenCountEstimator;
+
+    private final Counter duplicateDocumentsCounter;
+
+    private final Counter overBudgetDocumentsCounter;
+
+    private final DistributionSummary packedDocumentsSummary;
+
+    private final DistributionSummary packedTokensSummary;
+
+    ContextPacker(int tokenBudget, double duplicateSimilarityThreshold, Set<String> includedFields, JsonMapper jsonMapper, TokenCountEstimator tokenCountEstimator, MeterRegistry meterRegistry) {
+        if (tokenBudget < 1) {
+            throw new IllegalArgumentException("Token budget must be strictly positive!");
+        }
+
+        this.tokenBudget = tokenBudget;
+        this.duplicateSimilarityThreshold = duplicateSimilarityThreshold;
+        this.includedFields = Set.copyOf(includedFields);
+        this.jsonMapper = jsonMapper;
+        this.tokenCountEstimator = tokenCountEstimator;
+        this.duplicateDocumentsCounter = Counter.builder("rag.context.skipped.documents").tag("reason", "duplicate").register(meterRegistry);
+        this.overBudgetDocumentsCounter = Counter.builder("rag.context.skipped.documents").tag("reason", "over-budget").register(meterRegistry);
+        this.packedDocumentsSummary = DistributionSummary.builder("rag.context.documents").register(meterRegistry);
+        this.packedTokensSummary = DistributionSummary.builder("rag.context.tokens").baseUnit("tokens").register(meterRegistry);
+    }
+
+    List<Document> pack(List<Document> documents) {
+        var rankedDocuments = documents.stream()
+                .sorted(Comparator.comparingDouble((Document document) -> Objects.requireNonNullElse(document.getScore(), 0.0)).reversed())
+                .toList();
+        var packedDocuments = new ArrayList<Document>(rankedDocuments.size());
+        var packedWords = new ArrayList<Set<String>>(rankedDocuments.size());
+        var remainingTokens = tokenBudget;
+
+        for (var rankedDocument : rankedDocuments) {
+            var text = strip(Objects.requireNonNullElse(rankedDocument.getText(), ""));
+            var words = words(text);
+
+            if (packedWords.stream().anyMatch(otherWords -> similarity(words, otherWords) >= duplicateSimilarityThreshold)) {
+                duplicateDocumentsCounter.increment();
+
+                continue;
+            }
+
+            var tokens = tokenCountEstimator.estimate(text);
+
+            if (tokens > remainingTokens) {
+                overBudgetDocumentsCounter.increment();
+
+                continue;
+            }
+
+            remainingTokens -= tokens;
+            packedWords.add(words);
+            packedDocuments.add(Document.builder()
+                    .id(rankedDocument.getId())
+                    .text(text)
+                    .metadata(rankedDocument.getMetadata())
+                    .score(rankedDocument.getScore())
+                    .build());
+        }
+
+        packedDocumentsSummary.record(packedDocuments.size());
+        packedTokensSummary.record(tokenBudget - remainingTokens);
+
+        return packedDocuments;
+    }
+
+    private String strip(String text) {
+        if (!text.stripLeading().startsWith("{")) {
+            return text;
+        }
+
+        try {
+            if (!(jsonMapper.readTree(text) instanceof ObjectNode objectNode)) {
+                return text;
+            }
+
+            var strippedFields = new ArrayList<String>();
+
+            for (var property : objectNode.properties()) {
+                if (property.getValue().isNull() || !includedFields.contains(property.getKey())) {
+                    strippedFields.add(property.getKey());
+                }
+            }
+
+            objectNode.remove(strippedFields);
+
+            return jsonMapper.writeValueAsString(objectNode);
+        } catch (JacksonException exception) {
+            return text;
+        }
+    }
+
+    private static Set<String> words(String text) {
+        var words = new HashSet<String>();
+
+        for (var word : WORD_SEPARATORS_PATTERN.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+
+    private static double similarity(Set<String> leftWords, Set<String> rightWords) {
+        if (leftWords.isEmpty() && rightWords.isEmpty()) {
+            return 1.0;
+        }
+
+        var commonWords = 0;
+
+        for (var word : leftWords) {
+            if (rightWords.contains(word)) {
+                commonWords++;
+            }
+        }
+
+        return (double) commonWords / (leftWords.size() + rightWords.size() - commonWords);
+    }
+
+}
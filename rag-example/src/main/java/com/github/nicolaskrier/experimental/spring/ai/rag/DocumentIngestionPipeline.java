@@ -0,0 +1,184 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.ai.transformer.splitter.TextSplitter;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+class DocumentIngestionPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentIngestionPipeline.class);
+
+    private static final String STAGE_TIMER_NAME = "rag.ingestion.stage";
+
+    private static final String STAGE_TAG = "stage";
+
+    private final List<Document> endOfChunks = new ArrayList<>();
+
+    private final VectorStore vectorStore;
+
+    private final TextSplitter textSplitter;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final int queueCapacity;
+
+    private final Timer readTimer;
+
+    private final Timer chunkTimer;
+
+    private final Timer embedAndUpsertTimer;
+
+    private final Counter documentsCounter;
+
+    private final Counter chunksCounter;
+
+    DocumentIngestionPipeline(VectorStore vectorStore, TextSplitter textSplitter, int batchSize, int parallelism, int queueCapacity, MeterRegistry meterRegistry) {
+        if (batchSize < 1 || parallelism < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch size, parallelism and queue capacity must be strictly positive!");
+        }
+
+        this.vectorStore = vectorStore;
+        this.textSplitter = textSplitter;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+        this.readTimer = Timer.builder(STAGE_TIMER_NAME).tag(STAGE_TAG, "read").register(meterRegistry);
+        this.chunkTimer = Timer.builder(STAGE_TIMER_NAME).tag(STAGE_TAG, "chunk").register(meterRegistry);
+        this.embedAndUpsertTimer = Timer.builder(STAGE_TIMER_NAME).tag(STAGE_TAG, "embed-and-upsert").register(meterRegistry);
+        this.documentsCounter = Counter.builder("rag.ingestion.documents").register(meterRegistry);
+        this.chunksCounter = Counter.builder("rag.ingestion.chunks").register(meterRegistry);
+    }
+
+    List<Document> read(DocumentReader documentReader) {
+        return readTimer.record(documentReader::read);
+    }
+
+    Set<String> load(List<Document> documents) {
+        var loadedIds = ConcurrentHashMap.<String>newKeySet();
+
+        if (documents.isEmpty()) {
+            return loadedIds;
+        }
+
+        var startTime = System.nanoTime();
+        var chunkQueue = new ArrayBlockingQueue<List<Document>>(queueCapacity);
+        var inFlightBatches = new Semaphore(parallelism);
+
+        try (var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                var futures = new ArrayList<Future<?>>();
+                futures.add(executorService.submit(() -> chunk(documents, chunkQueue)));
+                var batch = new ArrayList<Document>(batchSize);
+
+                for (var chunks = chunkQueue.take(); chunks != endOfChunks; chunks = chunkQueue.take()) {
+                    for (var chunk : chunks) {
+                        batch.add(chunk);
+
+                        if (batch.size() == batchSize) {
+                            futures.add(submitBatch(batch, inFlightBatches, executorService, loadedIds));
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    futures.add(submitBatch(batch, inFlightBatches, executorService, loadedIds));
+                }
+
+                for (var future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException exception) {
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading documents into vector store!", exception);
+            } catch (ExecutionException exception) {
+                executorService.shutdownNow();
+                throw new IllegalStateException("Unable to load documents into vector store!", exception.getCause());
+            }
+        }
+
+        var elapsedTime = Duration.ofNanos(System.nanoTime() - startTime);
+        documentsCounter.increment(documents.size());
+        chunksCounter.increment(loadedIds.size());
+        LOGGER.info("{} chunks from {} documents loaded into vector store in {} ms ({} documents/s, batch size {}, parallelism {}).",
+                loadedIds.size(), documents.size(), elapsedTime.toMillis(), String.format("%.1f", documents.size() * 1e9 / Math.max(1L, elapsedTime.toNanos())), batchSize, parallelism);
+
+        return loadedIds;
+    }
+
+    private Void chunk(List<Document> documents, BlockingQueue<List<Document>> chunkQueue) throws InterruptedException {
+        try {
+            for (var document : documents) {
+                var chunks = chunkTimer.record(() -> chunk(document));
+                chunkQueue.put(chunks);
+            }
+        } finally {
+            chunkQueue.put(endOfChunks);
+        }
+
+        return null;
+    }
+
+    private List<Document> chunk(Document document) {
+        var splitDocuments = textSplitter.split(document);
+        var chunks = new ArrayList<Document>(splitDocuments.size());
+
+        for (var chunkIndex = 0; chunkIndex < splitDocuments.size(); chunkIndex++) {
+            var splitDocument = splitDocuments.get(chunkIndex);
+            chunks.add(Document.builder()
+                    .id(chunkId(document.getId(), chunkIndex))
+                    .text(splitDocument.getText())
+                    .metadata(splitDocument.getMetadata())
+                    .build());
+        }
+
+        return chunks;
+    }
+
+    private Future<?> submitBatch(List<Document> batch, Semaphore inFlightBatches, ExecutorService executorService, Set<String> loadedIds) throws InterruptedException {
+        inFlightBatches.acquire();
+
+        try {
+            return executorService.submit(() -> {
+                try {
+                    ScopedValue.where(ConcurrencyLimiter.PRIORITY, ConcurrencyLimiter.Priority.BULK).run(() -> embedAndUpsertTimer.record(() -> vectorStore.add(batch)));
+                    batch.forEach(document -> loadedIds.add(document.getId()));
+                } finally {
+                    inFlightBatches.release();
+                }
+            });
+        } catch (RuntimeException exception) {
+            inFlightBatches.release();
+            throw exception;
+        }
+    }
+
+    static String chunkId(String documentId, int chunkIndex) {
+        return UUID.nameUUIDFromBytes((documentId + "#" + chunkIndex).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+}
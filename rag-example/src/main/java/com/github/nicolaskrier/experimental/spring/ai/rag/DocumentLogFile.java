@@ -0,0 +1,167 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.springframework.ai.document.Document;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+class DocumentLogFile implements AutoCloseable {
+
+    private static final byte ADDED_RECORD_TYPE = 1;
+
+    private static final byte DELETED_RECORD_TYPE = 2;
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private final Path path;
+
+    private final JsonMapper jsonMapper;
+
+    private final FileChannel fileChannel;
+
+    DocumentLogFile(Path path, JsonMapper jsonMapper) {
+        this.path = path;
+        this.jsonMapper = jsonMapper;
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.fileChannel = FileChannel.open(path, CREATE, READ, WRITE);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to open document log file '" + path + "'!", exception);
+        }
+    }
+
+    void replay(Consumer<Document> addedDocumentConsumer, Consumer<String> deletedIdConsumer) {
+        try {
+            var buffer = ByteBuffer.allocate((int) fileChannel.size());
+            fileChannel.read(buffer, 0L);
+            buffer.flip();
+            var recordPosition = 0;
+
+            try {
+                while (buffer.hasRemaining()) {
+                    switch (buffer.get()) {
+                        case ADDED_RECORD_TYPE -> {
+                            var id = readString(buffer);
+                            var text = readString(buffer);
+                            var metadata = jsonMapper.readValue(readString(buffer), METADATA_TYPE);
+                            addedDocumentConsumer.accept(Document.builder()
+                                    .id(id)
+                                    .text(text)
+                                    .metadata(metadata)
+                                    .build());
+                        }
+                        case DELETED_RECORD_TYPE -> deletedIdConsumer.accept(readString(buffer));
+                        default -> throw new BufferUnderflowException();
+                    }
+
+                    recordPosition = buffer.position();
+                }
+            } catch (BufferUnderflowException _) {
+                fileChannel.truncate(recordPosition);
+            }
+
+            fileChannel.position(recordPosition);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to read document log file '" + path + "'!", exception);
+        }
+    }
+
+    void appendAdded(Document document) {
+        var id = document.getId().getBytes(StandardCharsets.UTF_8);
+        var text = Objects.requireNonNull(document.getText()).getBytes(StandardCharsets.UTF_8);
+        var metadata = jsonMapper.writeValueAsBytes(document.getMetadata());
+        var buffer = ByteBuffer.allocate(1 + 3 * Integer.BYTES + id.length + text.length + metadata.length)
+                .put(ADDED_RECORD_TYPE);
+        putBytes(buffer, id);
+        putBytes(buffer, text);
+        putBytes(buffer, metadata);
+        write(buffer);
+    }
+
+    void appendDeleted(List<String> ids) {
+        var encodedIds = ids.stream()
+                .map(id -> id.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        var buffer = ByteBuffer.allocate(encodedIds.stream().mapToInt(encodedId -> 1 + Integer.BYTES + encodedId.length).sum());
+
+        for (var encodedId : encodedIds) {
+            buffer.put(DELETED_RECORD_TYPE);
+            putBytes(buffer, encodedId);
+        }
+
+        write(buffer);
+    }
+
+    void clear() {
+        try {
+            fileChannel.truncate(0L);
+            fileChannel.position(0L);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to clear document log file '" + path + "'!", exception);
+        }
+    }
+
+    void rewrite(List<Document> documents) {
+        clear();
+        documents.forEach(this::appendAdded);
+
+        try {
+            fileChannel.force(false);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to rewrite document log file '" + path + "'!", exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.force(false);
+        fileChannel.close();
+    }
+
+    private void write(ByteBuffer buffer) {
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to write document log file '" + path + "'!", exception);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        var bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+}
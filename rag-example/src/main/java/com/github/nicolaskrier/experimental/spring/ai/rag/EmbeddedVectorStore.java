@@ -0,0 +1,328 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+class EmbeddedVectorStore implements VectorStore, FilteredDocumentRetriever, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedVectorStore.class);
+
+    private static final String DISTANCE_METADATA_KEY = "distance";
+
+    private static final long RANDOM_SEED = 42L;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Document> documents = new ArrayList<>();
+
+    private final Map<String, Integer> nodesById = new HashMap<>();
+
+    private final BitSet deletedNodes = new BitSet();
+
+    private final EmbeddingModel embeddingModel;
+
+    private final Path path;
+
+    private final int maximumConnections;
+
+    private final int efConstruction;
+
+    private final int efSearch;
+
+    private final DocumentLogFile documentLog;
+
+    private VectorSegmentFile vectors;
+
+    private HnswIndex hnswIndex;
+
+    EmbeddedVectorStore(EmbeddingModel embeddingModel, Path path, int maximumConnections, int efConstruction, int efSearch, JsonMapper jsonMapper) {
+        this.embeddingModel = embeddingModel;
+        this.path = path;
+        this.maximumConnections = maximumConnections;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.documentLog = new DocumentLogFile(path.resolveSibling(path.getFileName() + ".documents"), jsonMapper);
+        load();
+    }
+
+    @Override
+    public void add(List<Document> addedDocuments) {
+        var texts = addedDocuments.stream()
+                .map(Document::getText)
+                .map(Objects::requireNonNull)
+                .toList();
+        var embeddings = embeddingModel.embed(texts);
+        lock.writeLock().lock();
+
+        try {
+            for (var index = 0; index < addedDocuments.size(); index++) {
+                var embedding = normalize(embeddings.get(index));
+
+                if (vectors == null) {
+                    vectors = new VectorSegmentFile(path, embedding.length);
+                    hnswIndex = new HnswIndex(vectors, maximumConnections, efConstruction, RANDOM_SEED);
+                }
+
+                var document = Document.builder()
+                        .id(addedDocuments.get(index).getId())
+                        .text(addedDocuments.get(index).getText())
+                        .metadata(Map.copyOf(addedDocuments.get(index).getMetadata()))
+                        .build();
+                var node = vectors.append(embedding);
+                documentLog.appendAdded(document);
+                hnswIndex.insert(node);
+                addDocument(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> ids) {
+        lock.writeLock().lock();
+
+        try {
+            documentLog.appendDeleted(ids);
+            ids.forEach(this::deleteDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        lock.writeLock().lock();
+
+        try {
+            var deletedIds = new ArrayList<String>();
+            nodesById.forEach((id, node) -> {
+                if (FilterExpressionEvaluator.matches(filterExpression, documents.get(node).getMetadata())) {
+                    deletedIds.add(id);
+                }
+            });
+            documentLog.appendDeleted(deletedIds);
+            deletedIds.forEach(this::deleteDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest searchRequest) {
+        var query = normalize(embeddingModel.embed(searchRequest.getQuery()));
+        var filterExpression = searchRequest.getFilterExpression();
+        var topK = searchRequest.getTopK();
+        lock.readLock().lock();
+
+        try {
+            if (hnswIndex == null) {
+                return List.of();
+            }
+
+            IntPredicate acceptedNode = node -> !deletedNodes.get(node)
+                    && (filterExpression == null || FilterExpressionEvaluator.matches(filterExpression, documents.get(node).getMetadata()));
+            var neighbors = hnswIndex.search(query, topK, efSearch, acceptedNode);
+
+            if (neighbors.size() < topK) {
+                neighbors = hnswIndex.bruteForceSearch(query, topK, acceptedNode);
+            }
+
+            return neighbors.stream()
+                    .filter(neighbor -> 1.0 - neighbor.distance() >= searchRequest.getSimilarityThreshold())
+                    .map(neighbor -> toDocument(documents.get(neighbor.node()), neighbor.distance()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> retrieve(Filter.Expression filterExpression, int limit) {
+        lock.readLock().lock();
+
+        try {
+            return nodesById.values()
+                    .stream()
+                    .map(documents::get)
+                    .filter(document -> FilterExpressionEvaluator.matches(filterExpression, document.getMetadata()))
+                    .limit(limit)
+                    .map(document -> toDocument(document, 0.0f))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Map<String, StoredDocumentHashes.StoredDocumentHash> storedDocumentHashes(String identityKey) {
+        lock.readLock().lock();
+
+        try {
+            var contentHashes = new HashMap<String, String>();
+            var ids = new HashMap<String, Set<String>>();
+            nodesById.forEach((id, node) -> {
+                var metadata = documents.get(node).getMetadata();
+                var identity = metadata.containsKey(identityKey) ? metadata.get(identityKey).toString() : id;
+                var contentHash = Objects.toString(metadata.get(IncrementalDocumentIngester.CONTENT_HASH_KEY), "");
+                contentHashes.merge(identity, contentHash, (previousContentHash, currentContentHash) -> previousContentHash.equals(currentContentHash) ? previousContentHash : "");
+                ids.computeIfAbsent(identity, _ -> new HashSet<>()).add(id);
+            });
+            var storedDocumentHashes = new HashMap<String, StoredDocumentHashes.StoredDocumentHash>();
+            contentHashes.forEach((identity, contentHash) -> storedDocumentHashes.put(identity, new StoredDocumentHashes.StoredDocumentHash(contentHash, ids.get(identity))));
+
+            return storedDocumentHashes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            documentLog.close();
+
+            if (vectors != null) {
+                vectors.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        var dimensions = VectorSegmentFile.storedDimensions(path);
+
+        if (dimensions > 0) {
+            vectors = new VectorSegmentFile(path, dimensions);
+        }
+
+        documentLog.replay(this::addDocument, this::deleteDocument);
+        var vectorCount = vectors != null ? vectors.size() : 0;
+
+        if (documents.size() > vectorCount) {
+            LOGGER.warn("Document log of embedded vector store '{}' holds {} documents but only {} vectors, clearing it.", path, documents.size(), vectorCount);
+            documents.clear();
+            nodesById.clear();
+            deletedNodes.clear();
+            documentLog.clear();
+        }
+
+        if (vectors != null) {
+            vectors.truncate(documents.size());
+
+            if (!deletedNodes.isEmpty()) {
+                compact();
+            }
+
+            hnswIndex = new HnswIndex(vectors, maximumConnections, efConstruction, RANDOM_SEED);
+
+            for (var node = 0; node < documents.size(); node++) {
+                hnswIndex.insert(node);
+            }
+        }
+
+        LOGGER.info("{} documents loaded from embedded vector store '{}'.", nodesById.size(), path);
+    }
+
+    private void compact() {
+        var liveNodes = nodesById.values().stream()
+                .sorted()
+                .toList();
+        var liveDocuments = liveNodes.stream()
+                .map(documents::get)
+                .toList();
+        var compactedPath = path.resolveSibling(path.getFileName() + ".compacted");
+
+        try {
+            Files.deleteIfExists(compactedPath);
+
+            try (var compactedVectors = new VectorSegmentFile(compactedPath, vectors.dimensions())) {
+                liveNodes.forEach(node -> compactedVectors.append(vectors.vector(node)));
+            }
+
+            vectors.close();
+            Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to compact embedded vector store '" + path + "'!", exception);
+        }
+
+        vectors = new VectorSegmentFile(path, vectors.dimensions());
+        documentLog.rewrite(liveDocuments);
+        LOGGER.info("{} replaced or deleted documents compacted out of embedded vector store '{}'.", documents.size() - liveDocuments.size(), path);
+        documents.clear();
+        nodesById.clear();
+        deletedNodes.clear();
+        liveDocuments.forEach(this::addDocument);
+    }
+
+    private void addDocument(Document document) {
+        var node = documents.size();
+        documents.add(document);
+        var previousNode = nodesById.put(document.getId(), node);
+
+        if (previousNode != null) {
+            deletedNodes.set(previousNode);
+        }
+    }
+
+    private void deleteDocument(String id) {
+        var node = nodesById.remove(id);
+
+        if (node != null) {
+            deletedNodes.set(node);
+        }
+    }
+
+    private static Document toDocument(Document document, float distance) {
+        var metadata = new HashMap<>(document.getMetadata());
+        metadata.put(DISTANCE_METADATA_KEY, distance);
+
+        return Document.builder()
+                .id(document.getId())
+                .text(document.getText())
+                .metadata(metadata)
+                .score(1.0 - distance)
+                .build();
+    }
+
+    static float[] normalize(float[] vector) {
+        var norm = 0.0;
+
+        for (var component : vector) {
+            norm += component * component;
+        }
+
+        var normalizedVector = new float[vector.length];
+        var inverseNorm = norm > 0.0 ? 1.0 / Math.sqrt(norm) : 0.0;
+
+        for (var index = 0; index < vector.length; index++) {
+            normalizedVector[index] = (float) (vector[index] * inverseNorm);
+        }
+
+        return normalizedVector;
+    }
+
+}
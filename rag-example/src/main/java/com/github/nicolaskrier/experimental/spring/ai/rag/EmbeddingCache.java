@@ -0,0 +1,280 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+class EmbeddingCache implements AutoCloseable {
+
+    static final int KEY_SIZE = 32;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddingCache.class);
+
+    private static final int MAGIC_NUMBER = 0x454d4243;
+
+    private static final long HEADER_SIZE = 16L;
+
+    private static final long INITIAL_FILE_CAPACITY = 16L * 1024L * 1024L;
+
+    private static final long INDEX_SLOT_SIZE = 2L * Long.BYTES;
+
+    private static final long INITIAL_INDEX_SLOTS = 1024L;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final Path path;
+
+    private final FileChannel fileChannel;
+
+    private Arena fileArena;
+
+    private MemorySegment fileSegment;
+
+    private long writePosition;
+
+    private Arena indexArena;
+
+    private MemorySegment indexSegment;
+
+    private long indexSlots;
+
+    private long entryCount;
+
+    EmbeddingCache(Path path) {
+        this.path = path;
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.fileChannel = FileChannel.open(path, CREATE, READ, WRITE);
+            mapFile(Math.max(INITIAL_FILE_CAPACITY, fileChannel.size()));
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to open embedding cache file '" + path + "'!", exception);
+        }
+
+        allocateIndex(INITIAL_INDEX_SLOTS);
+        loadRecords();
+        LOGGER.info("{} embeddings loaded from cache file '{}'.", entryCount, path);
+    }
+
+    float @Nullable [] get(byte[] key) {
+        lock.readLock().lock();
+
+        try {
+            var recordOffset = findRecordOffset(key);
+
+            if (recordOffset == 0L) {
+                missCount.increment();
+
+                return null;
+            }
+
+            hitCount.increment();
+            var dimensions = fileSegment.get(JAVA_INT_UNALIGNED, recordOffset + KEY_SIZE);
+            var vector = new float[dimensions];
+            MemorySegment.copy(fileSegment, JAVA_FLOAT_UNALIGNED, recordOffset + KEY_SIZE + Integer.BYTES, vector, 0, dimensions);
+
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(byte[] key, float[] vector) {
+        if (key.length != KEY_SIZE || vector.length == 0) {
+            throw new IllegalArgumentException("Embedding cache key must be 32 bytes long and vector must not be empty!");
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            if (findRecordOffset(key) != 0L) {
+                return;
+            }
+
+            var recordOffset = writePosition;
+            var recordSize = KEY_SIZE + Integer.BYTES + (long) vector.length * Float.BYTES;
+            ensureFileCapacity(recordOffset + recordSize + Integer.BYTES);
+            MemorySegment.copy(MemorySegment.ofArray(key), 0L, fileSegment, recordOffset, KEY_SIZE);
+            MemorySegment.copy(vector, 0, fileSegment, JAVA_FLOAT_UNALIGNED, recordOffset + KEY_SIZE + Integer.BYTES, vector.length);
+            fileSegment.set(JAVA_INT_UNALIGNED, recordOffset + KEY_SIZE, vector.length);
+            writePosition = recordOffset + recordSize;
+            index(key, recordOffset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long hitCount() {
+        return hitCount.sum();
+    }
+
+    long missCount() {
+        return missCount.sum();
+    }
+
+    long size() {
+        lock.readLock().lock();
+
+        try {
+            return entryCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            fileSegment.force();
+            fileArena.close();
+            indexArena.close();
+            fileChannel.close();
+            LOGGER.info("Embedding cache '{}' closed with {} entries, {} hits and {} misses.", path, entryCount, hitCount(), missCount());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadRecords() {
+        writePosition = HEADER_SIZE;
+
+        if (fileSegment.get(JAVA_INT_UNALIGNED, 0L) != MAGIC_NUMBER) {
+            fileSegment.set(JAVA_INT_UNALIGNED, 0L, MAGIC_NUMBER);
+
+            return;
+        }
+
+        var key = new byte[KEY_SIZE];
+
+        while (writePosition + KEY_SIZE + Integer.BYTES <= fileSegment.byteSize()) {
+            var dimensions = fileSegment.get(JAVA_INT_UNALIGNED, writePosition + KEY_SIZE);
+            var recordSize = KEY_SIZE + Integer.BYTES + (long) dimensions * Float.BYTES;
+
+            if (dimensions <= 0 || writePosition + recordSize > fileSegment.byteSize()) {
+                break;
+            }
+
+            MemorySegment.copy(fileSegment, writePosition, MemorySegment.ofArray(key), 0L, KEY_SIZE);
+            index(key, writePosition);
+            writePosition += recordSize;
+        }
+    }
+
+    private long findRecordOffset(byte[] key) {
+        var keySegment = MemorySegment.ofArray(key);
+        var keyPrefix = keySegment.get(JAVA_LONG_UNALIGNED, 0L);
+        var mask = indexSlots - 1L;
+
+        for (var slot = mix(keyPrefix) & mask; ; slot = (slot + 1L) & mask) {
+            var recordOffset = indexSegment.get(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE + Long.BYTES);
+
+            if (recordOffset == 0L) {
+                return 0L;
+            }
+
+            if (indexSegment.get(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE) == keyPrefix
+                    && MemorySegment.mismatch(fileSegment, recordOffset, recordOffset + KEY_SIZE, keySegment, 0L, KEY_SIZE) == -1L) {
+                return recordOffset;
+            }
+        }
+    }
+
+    private void index(byte[] key, long recordOffset) {
+        if ((entryCount + 1L) * 2L > indexSlots) {
+            resizeIndex();
+        }
+
+        insertSlot(MemorySegment.ofArray(key).get(JAVA_LONG_UNALIGNED, 0L), recordOffset);
+        entryCount++;
+    }
+
+    private void insertSlot(long keyPrefix, long recordOffset) {
+        var mask = indexSlots - 1L;
+        var slot = mix(keyPrefix) & mask;
+
+        while (indexSegment.get(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE + Long.BYTES) != 0L) {
+            slot = (slot + 1L) & mask;
+        }
+
+        indexSegment.set(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE, keyPrefix);
+        indexSegment.set(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE + Long.BYTES, recordOffset);
+    }
+
+    private void resizeIndex() {
+        var previousIndexArena = indexArena;
+        var previousIndexSegment = indexSegment;
+        var previousIndexSlots = indexSlots;
+        allocateIndex(previousIndexSlots * 2L);
+
+        for (var slot = 0L; slot < previousIndexSlots; slot++) {
+            var recordOffset = previousIndexSegment.get(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE + Long.BYTES);
+
+            if (recordOffset != 0L) {
+                insertSlot(previousIndexSegment.get(JAVA_LONG_UNALIGNED, slot * INDEX_SLOT_SIZE), recordOffset);
+            }
+        }
+
+        previousIndexArena.close();
+    }
+
+    private void allocateIndex(long slots) {
+        indexArena = Arena.ofShared();
+        indexSegment = indexArena.allocate(slots * INDEX_SLOT_SIZE, Long.BYTES);
+        indexSlots = slots;
+    }
+
+    private void ensureFileCapacity(long requiredCapacity) {
+        if (requiredCapacity <= fileSegment.byteSize()) {
+            return;
+        }
+
+        var capacity = fileSegment.byteSize();
+
+        while (capacity < requiredCapacity) {
+            capacity *= 2L;
+        }
+
+        try {
+            fileSegment.force();
+            var previousFileArena = fileArena;
+            mapFile(capacity);
+            previousFileArena.close();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to grow embedding cache file '" + path + "'!", exception);
+        }
+    }
+
+    private void mapFile(long capacity) throws IOException {
+        fileArena = Arena.ofShared();
+        fileSegment = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0L, capacity, fileArena);
+    }
+
+    private static long mix(long value) {
+        var mixedValue = value * 0x9e3779b97f4a7c15L;
+
+        return mixedValue ^ (mixedValue >>> 32);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+final class FilterExpressionEvaluator {
+
+    private FilterExpressionEvaluator() {
+    }
+
+    static boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+        return switch (operand) {
+            case Filter.Group(var content) -> matches(content, metadata);
+            case Filter.Expression expression -> matches(expression, metadata);
+            default -> throw new IllegalArgumentException("Filter operand must be an expression or a group: '" + operand + "'!");
+        };
+    }
+
+    private static boolean matches(Filter.Expression expression, Map<String, Object> metadata) {
+        return switch (expression.type()) {
+            case AND -> matches(expression.left(), metadata) && matches(Objects.requireNonNull(expression.right()), metadata);
+            case OR -> matches(expression.left(), metadata) || matches(Objects.requireNonNull(expression.right()), metadata);
+            case NOT -> !matches(expression.left(), metadata);
+            case EQ -> isEqual(metadataValue(expression, metadata), filterValue(expression));
+            case NE -> !isEqual(metadataValue(expression, metadata), filterValue(expression));
+            case GT -> compare(expression, metadata, comparison -> comparison > 0);
+            case GTE -> compare(expression, metadata, comparison -> comparison >= 0);
+            case LT -> compare(expression, metadata, comparison -> comparison < 0);
+            case LTE -> compare(expression, metadata, comparison -> comparison <= 0);
+            case IN -> isIn(metadataValue(expression, metadata), filterValue(expression));
+            case NIN -> !isIn(metadataValue(expression, metadata), filterValue(expression));
+            default -> throw new IllegalArgumentException("Unsupported filter expression type: '" + expression.type() + "'!");
+        };
+    }
+
+    private static Object metadataValue(Filter.Expression expression, Map<String, Object> metadata) {
+        if (expression.left() instanceof Filter.Key(var key)) {
+            return metadata.get(key.startsWith("\"") || key.startsWith("'") ? key.substring(1, key.length() - 1) : key);
+        }
+
+        throw new IllegalArgumentException("Left operand of filter expression must be a key: '" + expression + "'!");
+    }
+
+    private static Object filterValue(Filter.Expression expression) {
+        if (expression.right() instanceof Filter.Value(var value)) {
+            return value;
+        }
+
+        throw new IllegalArgumentException("Right operand of filter expression must be a value: '" + expression + "'!");
+    }
+
+    private static boolean isEqual(Object metadataValue, Object filterValue) {
+        if (metadataValue instanceof Number metadataNumber && filterValue instanceof Number filterNumber) {
+            return Double.compare(metadataNumber.doubleValue(), filterNumber.doubleValue()) == 0;
+        }
+
+        return Objects.equals(metadataValue, filterValue);
+    }
+
+    private static boolean isIn(Object metadataValue, Object filterValue) {
+        if (!(filterValue instanceof List<?> filterValues)) {
+            throw new IllegalArgumentException("Filter value of IN and NIN expressions must be a list: '" + filterValue + "'!");
+        }
+
+        return filterValues.stream().anyMatch(value -> isEqual(metadataValue, value));
+    }
+
+    private static boolean compare(Filter.Expression expression, Map<String, Object> metadata, IntPredicate comparisonPredicate) {
+        var metadataValue = metadataValue(expression, metadata);
+
+        return metadataValue != null && comparisonPredicate.test(compare(metadataValue, filterValue(expression)));
+    }
+
+    private static int compare(Object metadataValue, Object filterValue) {
+        if (metadataValue instanceof Number metadataNumber && filterValue instanceof Number filterNumber) {
+            return Double.compare(metadataNumber.doubleValue(), filterNumber.doubleValue());
+        }
+
+        if (metadataValue instanceof String metadataString && filterValue instanceof String filterString) {
+            return metadataString.compareTo(filterString);
+        }
+
+        throw new IllegalArgumentException("Unable to compare metadata value '" + metadataValue + "' with filter value '" + filterValue + "'!");
+    }
+
+}
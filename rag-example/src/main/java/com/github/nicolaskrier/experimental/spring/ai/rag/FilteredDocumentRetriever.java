@@ -0,0 +1,13 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+
+@FunctionalInterface
+interface FilteredDocumentRetriever {
+
+    List<Document> retrieve(Filter.Expression filterExpression, int limit);
+
+}
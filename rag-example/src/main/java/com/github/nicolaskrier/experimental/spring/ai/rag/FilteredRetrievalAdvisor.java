@@ -0,0 +1,143 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.AdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.BaseAdvisor;
+import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class FilteredRetrievalAdvisor implements BaseAdvisor {
+
+    private static final PromptTemplate PROMPT_TEMPLATE = PromptTemplate.builder()
+            .template("""
+                    {query}
+                    
+                    Context information is below, surrounded by ---------------------
+                    
+                    ---------------------
+                    {question_answer_context}
+                    ---------------------
+                    
+                    Given the context and provided history information and not prior knowledge,
+                    reply to the user comment. If the answer is not in the context, inform
+                    the user that you can't answer the question.
+                    """)
+            .build();
+
+    private final VectorStore vectorStore;
+
+    private final FilteredDocumentRetriever filteredDocumentRetriever;
+
+    private final SearchRequest searchRequest;
+
+    private final Set<String> identityKeys;
+
+    private final ContextPacker contextPacker;
+
+    private final Timer filteredRetrievalTimer;
+
+    private final Timer similaritySearchTimer;
+
+    private final DistributionSummary promptTokensSummary;
+
+    FilteredRetrievalAdvisor(VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, SearchRequest searchRequest, Set<String> identityKeys, ContextPacker contextPacker, MeterRegistry meterRegistry) {
+        this.vectorStore = vectorStore;
+        this.filteredDocumentRetriever = filteredDocumentRetriever;
+        this.searchRequest = searchRequest;
+        this.identityKeys = Set.copyOf(identityKeys);
+        this.contextPacker = contextPacker;
+        this.filteredRetrievalTimer = Timer.builder("rag.retrieval").tag("strategy", "filter").register(meterRegistry);
+        this.similaritySearchTimer = Timer.builder("rag.retrieval").tag("strategy", "similarity-search").register(meterRegistry);
+        this.promptTokensSummary = DistributionSummary.builder("rag.prompt.tokens").baseUnit("tokens").register(meterRegistry);
+    }
+
+    @Override
+    public ChatClientRequest before(ChatClientRequest chatClientRequest, AdvisorChain advisorChain) {
+        var query = chatClientRequest.prompt().getUserMessage().getText();
+        var filterExpression = resolveFilterExpression(chatClientRequest);
+        var documents = contextPacker.pack(retrieve(query, filterExpression));
+        var questionAnswerContext = documents.stream()
+                .map(Document::getText)
+                .collect(Collectors.joining(System.lineSeparator()));
+        var augmentedQuery = PROMPT_TEMPLATE.render(Map.of("query", query, "question_answer_context", questionAnswerContext));
+
+        return chatClientRequest.mutate()
+                .prompt(chatClientRequest.prompt().augmentUserMessage(augmentedQuery))
+                .context(QuestionAnswerAdvisor.RETRIEVED_DOCUMENTS, documents)
+                .build();
+    }
+
+    @Override
+    public ChatClientResponse after(ChatClientResponse chatClientResponse, AdvisorChain advisorChain) {
+        var chatResponse = chatClientResponse.chatResponse();
+
+        if (chatResponse != null && chatResponse.getMetadata().getUsage().getPromptTokens() instanceof Integer promptTokens) {
+            promptTokensSummary.record(promptTokens);
+        }
+
+        return chatClientResponse;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private List<Document> retrieve(String query, Filter.Expression filterExpression) {
+        if (filterExpression != null && isFullyDetermined(filterExpression)) {
+            return filteredRetrievalTimer.record(() -> filteredDocumentRetriever.retrieve(filterExpression, searchRequest.getTopK()));
+        }
+
+        var similaritySearchRequest = SearchRequest.from(searchRequest)
+                .query(query)
+                .filterExpression(filterExpression)
+                .build();
+
+        return similaritySearchTimer.record(() -> vectorStore.similaritySearch(similaritySearchRequest));
+    }
+
+    private Filter.Expression resolveFilterExpression(ChatClientRequest chatClientRequest) {
+        if (chatClientRequest.context().get(QuestionAnswerAdvisor.FILTER_EXPRESSION) instanceof String filterExpression && !filterExpression.isBlank()) {
+            return new FilterExpressionTextParser().parse(filterExpression);
+        }
+
+        return searchRequest.getFilterExpression();
+    }
+
+    private boolean isFullyDetermined(Filter.Expression filterExpression) {
+        return isPayloadOnly(filterExpression) && constrainsIdentity(filterExpression);
+    }
+
+    private static boolean isPayloadOnly(Filter.Expression filterExpression) {
+        return switch (filterExpression.type()) {
+            case AND -> filterExpression.left() instanceof Filter.Expression left && isPayloadOnly(left)
+                    && filterExpression.right() instanceof Filter.Expression right && isPayloadOnly(right);
+            case EQ, IN -> filterExpression.left() instanceof Filter.Key && filterExpression.right() instanceof Filter.Value;
+            default -> false;
+        };
+    }
+
+    private boolean constrainsIdentity(Filter.Expression filterExpression) {
+        return switch (filterExpression.type()) {
+            case AND -> filterExpression.left() instanceof Filter.Expression left && constrainsIdentity(left)
+                    || filterExpression.right() instanceof Filter.Expression right && constrainsIdentity(right);
+            case EQ, IN -> filterExpression.left() instanceof Filter.Key(var key) && identityKeys.contains(key);
+            default -> false;
+        };
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+class HnswIndex {
+
+    private static final Comparator<Neighbor> NEAREST_FIRST = Comparator.comparingDouble(Neighbor::distance);
+
+    private static final Comparator<Neighbor> FURTHEST_FIRST = NEAREST_FIRST.reversed();
+
+    private final VectorSegmentFile vectors;
+
+    private final int maximumConnections;
+
+    private final int efConstruction;
+
+    private final double levelMultiplier;
+
+    private final SplittableRandom random;
+
+    private final List<int[][]> neighbors = new ArrayList<>();
+
+    private final List<int[]> neighborCounts = new ArrayList<>();
+
+    private int entryPoint = -1;
+
+    private int maximumLevel = -1;
+
+    HnswIndex(VectorSegmentFile vectors, int maximumConnections, int efConstruction, long seed) {
+        this.vectors = vectors;
+        this.maximumConnections = maximumConnections;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(maximumConnections);
+        this.random = new SplittableRandom(seed);
+    }
+
+    void insert(int node) {
+        if (node != neighbors.size()) {
+            throw new IllegalArgumentException("Nodes must be inserted in vector order!");
+        }
+
+        var level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        var nodeNeighbors = new int[level + 1][];
+        var nodeNeighborCounts = new int[level + 1];
+
+        for (var currentLevel = 0; currentLevel <= level; currentLevel++) {
+            nodeNeighbors[currentLevel] = new int[maximumConnections(currentLevel) + 1];
+        }
+
+        neighbors.add(nodeNeighbors);
+        neighborCounts.add(nodeNeighborCounts);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maximumLevel = level;
+
+            return;
+        }
+
+        var currentEntryPoint = entryPoint;
+
+        for (var currentLevel = maximumLevel; currentLevel > level; currentLevel--) {
+            currentEntryPoint = greedySearch(node, currentEntryPoint, currentLevel);
+        }
+
+        for (var currentLevel = Math.min(level, maximumLevel); currentLevel >= 0; currentLevel--) {
+            var candidates = searchLayer(distanceTo(node), currentEntryPoint, efConstruction, currentLevel);
+            candidates.sort(NEAREST_FIRST);
+            var selectedCount = Math.min(maximumConnections(currentLevel), candidates.size());
+
+            for (var index = 0; index < selectedCount; index++) {
+                var neighbor = candidates.get(index).node();
+                connect(node, neighbor, currentLevel);
+                connect(neighbor, node, currentLevel);
+            }
+
+            currentEntryPoint = candidates.getFirst().node();
+        }
+
+        if (level > maximumLevel) {
+            entryPoint = node;
+            maximumLevel = level;
+        }
+    }
+
+    List<Neighbor> search(float[] query, int k, int ef, IntPredicate acceptedNode) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+
+        DistanceFunction distanceFunction = node -> 1.0f - vectors.dotProduct(node, query);
+        var currentEntryPoint = entryPoint;
+
+        for (var currentLevel = maximumLevel; currentLevel > 0; currentLevel--) {
+            currentEntryPoint = greedySearch(distanceFunction, currentEntryPoint, currentLevel);
+        }
+
+        var candidates = searchLayer(distanceFunction, currentEntryPoint, Math.max(ef, k), 0);
+
+        return candidates.stream()
+                .filter(candidate -> acceptedNode.test(candidate.node()))
+                .sorted(NEAREST_FIRST)
+                .limit(k)
+                .toList();
+    }
+
+    List<Neighbor> bruteForceSearch(float[] query, int k, IntPredicate acceptedNode) {
+        var nearestNeighbors = new PriorityQueue<>(FURTHEST_FIRST);
+
+        for (var node = 0; node < vectors.size(); node++) {
+            if (acceptedNode.test(node)) {
+                nearestNeighbors.add(new Neighbor(node, 1.0f - vectors.dotProduct(node, query)));
+
+                if (nearestNeighbors.size() > k) {
+                    nearestNeighbors.poll();
+                }
+            }
+        }
+
+        return nearestNeighbors.stream().sorted(NEAREST_FIRST).toList();
+    }
+
+    private int greedySearch(int node, int currentEntryPoint, int level) {
+        return greedySearch(distanceTo(node), currentEntryPoint, level);
+    }
+
+    private int greedySearch(DistanceFunction distanceFunction, int currentEntryPoint, int level) {
+        var closestNode = currentEntryPoint;
+        var closestDistance = distanceFunction.distance(closestNode);
+        var improved = true;
+
+        while (improved) {
+            improved = false;
+            var closestNodeNeighbors = neighbors.get(closestNode)[level];
+            var closestNodeNeighborCount = neighborCounts.get(closestNode)[level];
+
+            for (var index = 0; index < closestNodeNeighborCount; index++) {
+                var distance = distanceFunction.distance(closestNodeNeighbors[index]);
+
+                if (distance < closestDistance) {
+                    closestDistance = distance;
+                    closestNode = closestNodeNeighbors[index];
+                    improved = true;
+                }
+            }
+        }
+
+        return closestNode;
+    }
+
+    private List<Neighbor> searchLayer(DistanceFunction distanceFunction, int currentEntryPoint, int ef, int level) {
+        var visitedNodes = new BitSet(neighbors.size());
+        var candidates = new PriorityQueue<>(NEAREST_FIRST);
+        var results = new PriorityQueue<>(FURTHEST_FIRST);
+        var entryNeighbor = new Neighbor(currentEntryPoint, distanceFunction.distance(currentEntryPoint));
+        visitedNodes.set(currentEntryPoint);
+        candidates.add(entryNeighbor);
+        results.add(entryNeighbor);
+
+        while (!candidates.isEmpty()) {
+            var candidate = candidates.poll();
+
+            if (results.size() >= ef && candidate.distance() > results.peek().distance()) {
+                break;
+            }
+
+            var candidateNeighbors = neighbors.get(candidate.node())[level];
+            var candidateNeighborCount = neighborCounts.get(candidate.node())[level];
+
+            for (var index = 0; index < candidateNeighborCount; index++) {
+                var neighborNode = candidateNeighbors[index];
+
+                if (visitedNodes.get(neighborNode)) {
+                    continue;
+                }
+
+                visitedNodes.set(neighborNode);
+                var distance = distanceFunction.distance(neighborNode);
+
+                if (results.size() < ef || distance < results.peek().distance()) {
+                    var neighbor = new Neighbor(neighborNode, distance);
+                    candidates.add(neighbor);
+                    results.add(neighbor);
+
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(results);
+    }
+
+    private void connect(int node, int neighbor, int level) {
+        var nodeNeighbors = neighbors.get(node)[level];
+        var nodeNeighborCounts = neighborCounts.get(node);
+        nodeNeighbors[nodeNeighborCounts[level]++] = neighbor;
+
+        if (nodeNeighborCounts[level] > maximumConnections(level)) {
+            var distanceFunction = distanceTo(node);
+            var prunedNeighbors = Arrays.stream(nodeNeighbors, 0, nodeNeighborCounts[level])
+                    .mapToObj(nodeNeighbor -> new Neighbor(nodeNeighbor, distanceFunction.distance(nodeNeighbor)))
+                    .sorted(NEAREST_FIRST)
+                    .limit(maximumConnections(level))
+                    .mapToInt(Neighbor::node)
+                    .toArray();
+            System.arraycopy(prunedNeighbors, 0, nodeNeighbors, 0, prunedNeighbors.length);
+            nodeNeighborCounts[level] = prunedNeighbors.length;
+        }
+    }
+
+    private int maximumConnections(int level) {
+        return level == 0 ? 2 * maximumConnections : maximumConnections;
+    }
+
+    private DistanceFunction distanceTo(int node) {
+        return otherNode -> 1.0f - vectors.dotProduct(node, otherNode);
+    }
+
+    record Neighbor(int node, float distance) {
+    }
+
+    @FunctionalInterface
+    private interface DistanceFunction {
+
+        float distance(int node);
+
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+class IncrementalDocumentIngester {
+
+    static final String CONTENT_HASH_KEY = "contentHash";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalDocumentIngester.class);
+
+    private final VectorStore vectorStore;
+
+    private final DocumentIngestionPipeline documentIngestionPipeline;
+
+    private final StoredDocumentHashes storedDocumentHashes;
+
+    private final String identityKey;
+
+    IncrementalDocumentIngester(VectorStore vectorStore, DocumentIngestionPipeline documentIngestionPipeline, StoredDocumentHashes storedDocumentHashes, String identityKey) {
+        this.vectorStore = vectorStore;
+        this.documentIngestionPipeline = documentIngestionPipeline;
+        this.storedDocumentHashes = storedDocumentHashes;
+        this.identityKey = identityKey;
+    }
+
+    void ingest(DocumentReader documentReader) {
+        var sourceDocuments = documentIngestionPipeline.read(documentReader);
+        var storedDocuments = storedDocumentHashes.load();
+        var sourceIdentities = new HashSet<String>();
+        var changedIdentities = new HashSet<String>();
+        var changedDocuments = new ArrayList<Document>();
+
+        for (var sourceDocument : sourceDocuments) {
+            var identity = identity(sourceDocument);
+
+            if (!sourceIdentities.add(identity)) {
+                throw new IllegalStateException("Several source documents share the same identity: '" + identity + "'!");
+            }
+
+            var contentHash = contentHash(sourceDocument);
+            var storedDocument = storedDocuments.get(identity);
+
+            if (storedDocument == null || !storedDocument.contentHash().equals(contentHash)) {
+                changedIdentities.add(identity);
+                changedDocuments.add(hashedDocument(sourceDocument, identity, contentHash));
+            }
+        }
+
+        var loadedIds = documentIngestionPipeline.load(changedDocuments);
+        var staleIds = new ArrayList<String>();
+        storedDocuments.forEach((identity, storedDocument) -> {
+            if (!sourceIdentities.contains(identity)) {
+                staleIds.addAll(storedDocument.ids());
+            } else if (changedIdentities.contains(identity)) {
+                storedDocument.ids().stream().filter(id -> !loadedIds.contains(id)).forEach(staleIds::add);
+            }
+        });
+
+        if (!staleIds.isEmpty()) {
+            vectorStore.delete(staleIds);
+        }
+
+        LOGGER.info("{} documents added or changed, {} documents unchanged and {} stale chunks deleted from vector store.", changedDocuments.size(), sourceDocuments.size() - changedDocuments.size(), staleIds.size());
+    }
+
+    private String identity(Document document) {
+        var identity = document.getMetadata().get(identityKey);
+
+        return identity != null ? identity.toString() : contentHash(document);
+    }
+
+    private Document hashedDocument(Document document, String identity, String contentHash) {
+        var metadata = new HashMap<>(document.getMetadata());
+        metadata.put(CONTENT_HASH_KEY, contentHash);
+
+        return Document.builder()
+                .id(documentId(identity))
+                .text(document.getText())
+                .metadata(metadata)
+                .build();
+    }
+
+    static String documentId(String identity) {
+        return UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    static String contentHash(Document document) {
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            var digest = messageDigest.digest(Objects.requireNonNull(document.getText()).getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 algorithm is not available!", exception);
+        }
+    }
+
+}
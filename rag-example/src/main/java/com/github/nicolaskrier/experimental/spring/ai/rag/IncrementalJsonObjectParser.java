@@ -0,0 +1,233 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+class IncrementalJsonObjectParser {
+
+    private final StringBuilder text = new StringBuilder();
+
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+
+    private final BiConsumer<String, Object> fieldListener;
+
+    private final StringBuilder token = new StringBuilder();
+
+    private State state = State.BEFORE_OBJECT;
+
+    private int objectStart = -1;
+
+    private int objectEnd = -1;
+
+    private boolean escaped;
+
+    private int unicodeDigits = -1;
+
+    private int escapedUnicodeLength;
+
+    private String fieldName;
+
+    private List<Object> arrayValues;
+
+    IncrementalJsonObjectParser(BiConsumer<String, Object> fieldListener) {
+        this.fieldListener = fieldListener;
+    }
+
+    void feed(CharSequence chunk) {
+        for (var index = 0; index < chunk.length(); index++) {
+            var character = chunk.charAt(index);
+            text.append(character);
+            accept(character);
+        }
+    }
+
+    boolean isComplete() {
+        return state == State.COMPLETE;
+    }
+
+    Map<String, Object> fields() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+    }
+
+    String text() {
+        return text.toString();
+    }
+
+    String json() {
+        if (objectStart < 0) {
+            throw new IllegalStateException("No JSON object has been received!");
+        }
+
+        return state == State.COMPLETE ? text.substring(objectStart, objectEnd) : text.substring(objectStart);
+    }
+
+    private void accept(char character) {
+        switch (state) {
+            case BEFORE_OBJECT -> {
+                if (character == '{') {
+                    objectStart = text.length() - 1;
+                    state = State.BEFORE_FIELD_NAME;
+                }
+            }
+            case BEFORE_FIELD_NAME -> {
+                if (character == '"') {
+                    token.setLength(0);
+                    state = State.FIELD_NAME;
+                } else if (character == '}') {
+                    completeObject();
+                }
+            }
+            case FIELD_NAME -> {
+                if (acceptStringCharacter(character)) {
+                    fieldName = token.toString();
+                    state = State.BEFORE_VALUE;
+                }
+            }
+            case BEFORE_VALUE -> {
+                if (character == '"') {
+                    token.setLength(0);
+                    state = State.STRING_VALUE;
+                } else if (character == '[') {
+                    arrayValues = new ArrayList<>();
+                    state = State.BEFORE_ARRAY_VALUE;
+                } else if (character != ':' && !Character.isWhitespace(character)) {
+                    token.setLength(0);
+                    token.append(character);
+                    state = State.LITERAL_VALUE;
+                }
+            }
+            case STRING_VALUE -> {
+                if (acceptStringCharacter(character)) {
+                    completeField(token.toString());
+                }
+            }
+            case LITERAL_VALUE -> {
+                if (character == ',' || character == '}' || Character.isWhitespace(character)) {
+                    completeField(literal(token.toString()));
+
+                    if (character == '}') {
+                        completeObject();
+                    }
+                } else {
+                    token.append(character);
+                }
+            }
+            case BEFORE_ARRAY_VALUE -> {
+                if (character == '"') {
+                    token.setLength(0);
+                    state = State.ARRAY_STRING_VALUE;
+                } else if (character == ']') {
+                    completeField(List.copyOf(arrayValues));
+                } else if (character != ',' && !Character.isWhitespace(character)) {
+                    token.setLength(0);
+                    token.append(character);
+                    state = State.ARRAY_LITERAL_VALUE;
+                }
+            }
+            case ARRAY_STRING_VALUE -> {
+                if (acceptStringCharacter(character)) {
+                    arrayValues.add(token.toString());
+                    state = State.BEFORE_ARRAY_VALUE;
+                }
+            }
+            case ARRAY_LITERAL_VALUE -> {
+                if (character == ',' || character == ']' || Character.isWhitespace(character)) {
+                    arrayValues.add(literal(token.toString()));
+                    state = State.BEFORE_ARRAY_VALUE;
+
+                    if (character == ']') {
+                        completeField(List.copyOf(arrayValues));
+                    }
+                } else {
+                    token.append(character);
+                }
+            }
+            case COMPLETE -> {
+            }
+        }
+    }
+
+    private boolean acceptStringCharacter(char character) {
+        if (unicodeDigits >= 0) {
+            unicodeDigits = unicodeDigits * 16 + Character.digit(character, 16);
+
+            if (++escapedUnicodeLength == 4) {
+                token.append((char) unicodeDigits);
+                unicodeDigits = -1;
+            }
+
+            return false;
+        }
+
+        if (escaped) {
+            escaped = false;
+
+            switch (character) {
+                case 'b' -> token.append('\b');
+                case 'f' -> token.append('\f');
+                case 'n' -> token.append('\n');
+                case 'r' -> token.append('\r');
+                case 't' -> token.append('\t');
+                case 'u' -> {
+                    unicodeDigits = 0;
+                    escapedUnicodeLength = 0;
+                }
+                default -> token.append(character);
+            }
+
+            return false;
+        }
+
+        if (character == '\\') {
+            escaped = true;
+
+            return false;
+        }
+
+        if (character == '"') {
+            return true;
+        }
+
+        token.append(character);
+
+        return false;
+    }
+
+    private void completeObject() {
+        objectEnd = text.length();
+        state = State.COMPLETE;
+    }
+
+    private void completeField(Object value) {
+        fields.put(fieldName, value);
+        state = State.BEFORE_FIELD_NAME;
+        fieldListener.accept(fieldName, value);
+    }
+
+    private static Object literal(String literal) {
+        return switch (literal) {
+            case "null" -> null;
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            default -> literal.contains(".") || literal.contains("e") || literal.contains("E") ? Double.parseDouble(literal) : Long.parseLong(literal);
+        };
+    }
+
+    private enum State {
+        BEFORE_OBJECT,
+        BEFORE_FIELD_NAME,
+        FIELD_NAME,
+        BEFORE_VALUE,
+        STRING_VALUE,
+        LITERAL_VALUE,
+        BEFORE_ARRAY_VALUE,
+        ARRAY_STRING_VALUE,
+        ARRAY_LITERAL_VALUE,
+        COMPLETE
+    }
+
+}
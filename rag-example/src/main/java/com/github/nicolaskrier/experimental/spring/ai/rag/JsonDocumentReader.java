@@ -0,0 +1,50 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.core.io.Resource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class JsonDocumentReader implements DocumentReader {
+
+    private final Resource resource;
+
+    private final JsonMapper jsonMapper;
+
+    private final String metadataKey;
+
+    JsonDocumentReader(Resource resource, JsonMapper jsonMapper, String metadataKey) {
+        this.resource = resource;
+        this.jsonMapper = jsonMapper;
+        this.metadataKey = metadataKey;
+    }
+
+    @Override
+    public List<Document> get() {
+        try (var inputStream = resource.getInputStream()) {
+            var jsonNodes = jsonMapper.readTree(inputStream);
+
+            if (!jsonNodes.isArray()) {
+                throw new IllegalStateException("JSON resource '" + resource + "' must contain an array of objects!");
+            }
+
+            var documents = new ArrayList<Document>(jsonNodes.size());
+
+            for (var index = 0; index < jsonNodes.size(); index++) {
+                var jsonNode = jsonNodes.get(index);
+                Map<String, Object> metadata = jsonNode.hasNonNull(metadataKey) ? Map.of(metadataKey, jsonMapper.treeToValue(jsonNode.get(metadataKey), Object.class)) : Map.of();
+                documents.add(new Document(jsonMapper.writeValueAsString(jsonNode), metadata));
+            }
+
+            return documents;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to read JSON resource '" + resource + "'!", exception);
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class MistralAiQuotaStubServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MistralAiQuotaStubServer.class);
+
+    private static final int EMBEDDING_DIMENSIONS = 1024;
+
+    private final HttpServer httpServer;
+
+    private final JsonMapper jsonMapper;
+
+    private final String answer;
+
+    private final int requestsPerWindow;
+
+    private final long windowNanos;
+
+    private final long latencyNanos;
+
+    private long windowStartTime = System.nanoTime();
+
+    private int windowRequests;
+
+    private long acceptedRequests;
+
+    private long rejectedRequests;
+
+    MistralAiQuotaStubServer(int port, int requestsPerWindow, Duration window, Duration latency, Resource answerResource, JsonMapper jsonMapper) throws IOException {
+        if (requestsPerWindow < 1 || window.toSeconds() < 1) {
+            throw new IllegalArgumentException("Quota must allow at least one request per window of at least one second!");
+        }
+
+        this.jsonMapper = jsonMapper;
+        this.answer = answerResource.getContentAsString(StandardCharsets.UTF_8);
+        this.requestsPerWindow = requestsPerWindow;
+        this.windowNanos = window.toNanos();
+        this.latencyNanos = latency.toNanos();
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.httpServer.createContext("/v1/chat/completions", httpExchange -> respond(httpExchange, this::chatCompletion));
+        this.httpServer.createContext("/v1/embeddings", httpExchange -> respond(httpExchange, this::embeddings));
+        this.httpServer.start();
+        LOGGER.info("Mistral AI quota stub server allowing {} requests every {} s on port {}.", requestsPerWindow, window.toSeconds(), httpServer.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+
+        synchronized (this) {
+            LOGGER.info("Mistral AI quota stub server accepted {} requests and rejected {} with 429.", acceptedRequests, rejectedRequests);
+        }
+    }
+
+    private void respond(HttpExchange httpExchange, ResponseBodyFactory responseBodyFactory) throws IOException {
+        try (httpExchange) {
+            var requestBody = jsonMapper.readTree(httpExchange.getRequestBody());
+            var quota = consumeQuota();
+            var responseHeaders = httpExchange.getResponseHeaders();
+            responseHeaders.set("Content-Type", "application/json");
+            responseHeaders.set("RateLimit-Limit", Integer.toString(requestsPerWindow));
+            responseHeaders.set("RateLimit-Remaining", Integer.toString(quota.remainingRequests()));
+            responseHeaders.set("RateLimit-Reset", Long.toString(quota.resetSeconds()));
+
+            if (!quota.accepted()) {
+                responseHeaders.set("Retry-After", Long.toString(quota.resetSeconds()));
+                var responseBody = jsonMapper.writeValueAsBytes(Map.of("object", "error", "message", "Requests rate limit exceeded", "type", "rate_limited"));
+                httpExchange.sendResponseHeaders(429, responseBody.length);
+                httpExchange.getResponseBody().write(responseBody);
+
+                return;
+            }
+
+            TimeUnit.NANOSECONDS.sleep(latencyNanos);
+            var responseBody = jsonMapper.writeValueAsBytes(responseBodyFactory.create(requestBody.path("model").asString(), requestBody));
+            httpExchange.sendResponseHeaders(200, responseBody.length);
+            httpExchange.getResponseBody().write(responseBody);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized Quota consumeQuota() {
+        var now = System.nanoTime();
+
+        if (now - windowStartTime >= windowNanos) {
+            windowStartTime = now;
+            windowRequests = 0;
+        }
+
+        var resetSeconds = Math.max(1L, Math.ceilDiv(windowStartTime + windowNanos - now, TimeUnit.SECONDS.toNanos(1)));
+
+        if (windowRequests >= requestsPerWindow) {
+            rejectedRequests++;
+
+            return new Quota(false, 0, resetSeconds);
+        }
+
+        windowRequests++;
+        acceptedRequests++;
+
+        return new Quota(true, requestsPerWindow - windowRequests, resetSeconds);
+    }
+
+    private Map<String, Object> chatCompletion(String model, JsonNode requestBody) {
+        return Map.of(
+                "id", "stub",
+                "object", "chat.completion",
+                "created", System.currentTimeMillis() / 1000L,
+                "model", model,
+                "choices", List.of(Map.of("index", 0, "message", Map.of("role", "assistant", "content", answer), "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", 0, "completion_tokens", 0, "total_tokens", 0)
+        );
+    }
+
+    private Map<String, Object> embeddings(String model, JsonNode requestBody) {
+        var data = new ArrayList<Map<String, Object>>();
+        var inputs = requestBody.path("input");
+
+        for (var index = 0; index < inputs.size(); index++) {
+            data.add(Map.of("object", "embedding", "index", index, "embedding", embedding(inputs.get(index).asString())));
+        }
+
+        return Map.of(
+                "id", "stub",
+                "object", "list",
+                "model", model,
+                "data", data,
+                "usage", Map.of("prompt_tokens", 0, "total_tokens", 0)
+        );
+    }
+
+    private static float[] embedding(String text) {
+        var random = new SplittableRandom(text.hashCode());
+        var embedding = new float[EMBEDDING_DIMENSIONS];
+
+        for (var index = 0; index < embedding.length; index++) {
+            embedding[index] = (float) random.nextGaussian();
+        }
+
+        return embedding;
+    }
+
+    private record Quota(boolean accepted, int remainingRequests, long resetSeconds) {
+    }
+
+    @FunctionalInterface
+    private interface ResponseBodyFactory {
+        Map<String, Object> create(String model, JsonNode requestBody);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.qdrant.client.ConditionFactory;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.Common;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+class QdrantFilteredDocumentRetriever implements FilteredDocumentRetriever {
+
+    private static final String CONTENT_PAYLOAD_KEY = "doc_content";
+
+    private final QdrantClient qdrantClient;
+
+    private final String collectionName;
+
+    QdrantFilteredDocumentRetriever(QdrantClient qdrantClient, String collectionName) {
+        this.qdrantClient = qdrantClient;
+        this.collectionName = collectionName;
+    }
+
+    @Override
+    public List<Document> retrieve(Filter.Expression filterExpression, int limit) {
+        var filterBuilder = Common.Filter.newBuilder();
+        addConditions(filterExpression, filterBuilder);
+        var scrollPoints = Points.ScrollPoints.newBuilder()
+                .setCollectionName(collectionName)
+                .setFilter(filterBuilder.build())
+                .setLimit(limit)
+                .setWithPayload(WithPayloadSelectorFactory.enable(true))
+                .setWithVectors(WithVectorsSelectorFactory.enable(false))
+                .build();
+
+        return scroll(scrollPoints).getResultList()
+                .stream()
+                .map(QdrantFilteredDocumentRetriever::toDocument)
+                .toList();
+    }
+
+    private static void addConditions(Filter.Expression filterExpression, Common.Filter.Builder filterBuilder) {
+        switch (filterExpression.type()) {
+            case AND -> {
+                addConditions(asExpression(filterExpression.left()), filterBuilder);
+                addConditions(asExpression(filterExpression.right()), filterBuilder);
+            }
+            case EQ -> filterBuilder.addMust(equalCondition(asKey(filterExpression.left()), asValue(filterExpression.right())));
+            case IN -> filterBuilder.addMust(inCondition(asKey(filterExpression.left()), asValue(filterExpression.right())));
+            default -> throw new IllegalArgumentException("Unsupported filter expression type for payload only retrieval: '" + filterExpression.type() + "'!");
+        }
+    }
+
+    private static Common.Condition equalCondition(String key, Object value) {
+        return switch (value) {
+            case Integer integerValue -> ConditionFactory.match(key, integerValue.longValue());
+            case Long longValue -> ConditionFactory.match(key, longValue);
+            case Boolean booleanValue -> ConditionFactory.match(key, booleanValue);
+            case String stringValue -> ConditionFactory.matchKeyword(key, stringValue);
+            default -> throw new IllegalArgumentException("Unsupported filter value for payload only retrieval: '" + value + "'!");
+        };
+    }
+
+    private static Common.Condition inCondition(String key, Object value) {
+        if (!(value instanceof List<?> values) || values.isEmpty()) {
+            throw new IllegalArgumentException("Filter value of IN expression must be a non empty list: '" + value + "'!");
+        }
+
+        if (values.getFirst() instanceof String) {
+            return ConditionFactory.matchKeywords(key, values.stream().map(String.class::cast).toList());
+        }
+
+        return ConditionFactory.matchValues(key, values.stream().map(Number.class::cast).map(Number::longValue).toList());
+    }
+
+    private static Filter.Expression asExpression(Filter.Operand operand) {
+        if (operand instanceof Filter.Expression expression) {
+            return expression;
+        }
+
+        throw new IllegalArgumentException("Filter operand must be an expression: '" + operand + "'!");
+    }
+
+    private static String asKey(Filter.Operand operand) {
+        if (operand instanceof Filter.Key(var key)) {
+            return key;
+        }
+
+        throw new IllegalArgumentException("Filter operand must be a key: '" + operand + "'!");
+    }
+
+    private static Object asValue(Filter.Operand operand) {
+        if (operand instanceof Filter.Value(var value)) {
+            return value;
+        }
+
+        throw new IllegalArgumentException("Filter operand must be a value: '" + operand + "'!");
+    }
+
+    private static Document toDocument(Points.RetrievedPoint retrievedPoint) {
+        var payload = retrievedPoint.getPayloadMap();
+        var metadata = new HashMap<String, Object>();
+        payload.forEach((key, value) -> {
+            if (!CONTENT_PAYLOAD_KEY.equals(key)) {
+                metadata.put(key, toObject(value));
+            }
+        });
+
+        return Document.builder()
+                .id(retrievedPoint.getId().getUuid())
+                .text(payload.get(CONTENT_PAYLOAD_KEY).getStringValue())
+                .metadata(metadata)
+                .score(1.0)
+                .build();
+    }
+
+    private static Object toObject(JsonWithInt.Value value) {
+        return switch (value.getKindCase()) {
+            case INTEGER_VALUE -> value.getIntegerValue();
+            case DOUBLE_VALUE -> value.getDoubleValue();
+            case STRING_VALUE -> value.getStringValue();
+            case BOOL_VALUE -> value.getBoolValue();
+            case LIST_VALUE -> {
+                var values = new ArrayList<>();
+                value.getListValue().getValuesList().forEach(listValue -> values.add(toObject(listValue)));
+                yield values;
+            }
+            default -> value.toString();
+        };
+    }
+
+    private Points.ScrollResponse scroll(Points.ScrollPoints scrollPoints) {
+        try {
+            return qdrantClient.scrollAsync(scrollPoints).get(10, SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrieving documents from vector store!", exception);
+        } catch (ExecutionException | TimeoutException exception) {
+            throw new IllegalStateException("Unable to retrieve documents from vector store!", exception);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+class QdrantStoredDocumentHashes implements StoredDocumentHashes {
+
+    private static final int SCROLL_PAGE_SIZE = 256;
+
+    private final QdrantClient qdrantClient;
+
+    private final String collectionName;
+
+    private final String identityKey;
+
+    QdrantStoredDocumentHashes(QdrantClient qdrantClient, String collectionName, String identityKey) {
+        this.qdrantClient = qdrantClient;
+        this.collectionName = collectionName;
+        this.identityKey = identityKey;
+    }
+
+    @Override
+    public Map<String, StoredDocumentHash> load() {
+        var contentHashes = new HashMap<String, String>();
+        var ids = new HashMap<String, Set<String>>();
+        Points.PointId offset = null;
+
+        do {
+            var scrollPointsBuilder = Points.ScrollPoints.newBuilder()
+                    .setCollectionName(collectionName)
+                    .setLimit(SCROLL_PAGE_SIZE)
+                    .setWithPayload(WithPayloadSelectorFactory.include(List.of(identityKey, IncrementalDocumentIngester.CONTENT_HASH_KEY)))
+                    .setWithVectors(WithVectorsSelectorFactory.enable(false));
+
+            if (offset != null) {
+                scrollPointsBuilder.setOffset(offset);
+            }
+
+            var scrollResponse = scroll(scrollPointsBuilder.build());
+
+            for (var retrievedPoint : scrollResponse.getResultList()) {
+                var payload = retrievedPoint.getPayloadMap();
+                var identity = payload.containsKey(identityKey) ? toIdentity(payload.get(identityKey)) : retrievedPoint.getId().getUuid();
+                var contentHash = payload.containsKey(IncrementalDocumentIngester.CONTENT_HASH_KEY) ? payload.get(IncrementalDocumentIngester.CONTENT_HASH_KEY).getStringValue() : "";
+                contentHashes.merge(identity, contentHash, (previousContentHash, currentContentHash) -> previousContentHash.equals(currentContentHash) ? previousContentHash : "");
+                ids.computeIfAbsent(identity, _ -> new HashSet<>()).add(retrievedPoint.getId().getUuid());
+            }
+
+            offset = scrollResponse.hasNextPageOffset() ? scrollResponse.getNextPageOffset() : null;
+        } while (offset != null);
+
+        var storedDocumentHashes = new HashMap<String, StoredDocumentHash>();
+        contentHashes.forEach((identity, contentHash) -> storedDocumentHashes.put(identity, new StoredDocumentHash(contentHash, ids.get(identity))));
+
+        return storedDocumentHashes;
+    }
+
+    private Points.ScrollResponse scroll(Points.ScrollPoints scrollPoints) {
+        try {
+            return qdrantClient.scrollAsync(scrollPoints).get(10, SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scrolling vector store collection!", exception);
+        } catch (ExecutionException | TimeoutException exception) {
+            throw new IllegalStateException("Unable to scroll vector store collection!", exception);
+        }
+    }
+
+    private static String toIdentity(JsonWithInt.Value value) {
+        return switch (value.getKindCase()) {
+            case INTEGER_VALUE -> String.valueOf(value.getIntegerValue());
+            case STRING_VALUE -> value.getStringValue();
+            case DOUBLE_VALUE -> String.valueOf(value.getDoubleValue());
+            case BOOL_VALUE -> String.valueOf(value.getBoolValue());
+            default -> throw new IllegalStateException("Unsupported identity payload value: '" + value + "'!");
+        };
+    }
+
+}
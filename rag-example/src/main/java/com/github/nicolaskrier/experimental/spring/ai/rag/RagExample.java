@@ -1,38 +1,60 @@
 package com.github.nicolaskrier.experimental.spring.ai.rag;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import io.qdrant.client.QdrantClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
-import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.document.DocumentReader;
-import org.springframework.ai.reader.JsonMetadataGenerator;
-import org.springframework.ai.reader.JsonReader;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.ai.vectorstore.qdrant.QdrantVectorStore;
 import org.springframework.ai.vectorstore.qdrant.autoconfigure.QdrantVectorStoreProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.restclient.RestClientCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
-
 @SpringBootApplication
 class RagExample {
 
@@ -60,80 +82,368 @@ class RagExample {
     @Value("${next-searched-popes-number:0}")
     private int nextSearchedPopesNumber;
 
+    @Value("${next-searched-popes-parallelism:1}")
+    private int nextSearchedPopesParallelism;
+
+    @Value("${searched-pope-streaming:false}")
+    private boolean searchedPopeStreaming;
+
+    @Value("${answer-cache-maximum-size:1000}")
+    private int answerCacheMaximumSize;
+
+    @Value("${answer-cache-time-to-live:1h}")
+    private Duration answerCacheTimeToLive;
+
+    @Value("${answer-cache-similarity-threshold:0.0}")
+    private double answerCacheSimilarityThreshold;
+
+    @Value("${chat-memory-durability:async}")
+    private WriteBehindChatMemoryRepository.Durability chatMemoryDurability;
+
+    @Value("${chat-memory-cache-maximum-size:1000}")
+    private int chatMemoryCacheMaximumSize;
+
+    @Value("${chat-memory-flush-interval:1s}")
+    private Duration chatMemoryFlushInterval;
+
+    @Value("${chat-memory-flush-batch-size:64}")
+    private int chatMemoryFlushBatchSize;
+
+    @Value("${embedded-vector-store-path:./rag-example/target/embedded-vector-store/vectors.bin}")
+    private Path embeddedVectorStorePath;
+
+    @Value("${embedded-vector-store-maximum-connections:16}")
+    private int embeddedVectorStoreMaximumConnections;
+
+    @Value("${embedded-vector-store-ef-construction:100}")
+    private int embeddedVectorStoreEfConstruction;
+
+    @Value("${embedded-vector-store-ef-search:64}")
+    private int embeddedVectorStoreEfSearch;
+
+    @Value("${ingestion-chunk-size:800}")
+    private int ingestionChunkSize;
+
+    @Value("${ingestion-batch-size:32}")
+    private int ingestionBatchSize;
+
+    @Value("${ingestion-parallelism:4}")
+    private int ingestionParallelism;
+
+    @Value("${ingestion-queue-capacity:256}")
+    private int ingestionQueueCapacity;
+
+    @Value("${context-token-budget:1024}")
+    private int contextTokenBudget;
+
+    @Value("${context-duplicate-similarity-threshold:0.9}")
+    private double contextDuplicateSimilarityThreshold;
+
+    @Value("${context-included-fields}")
+    private Set<String> contextIncludedFields;
+
+    @Value("${logging-advisor-sampling-rate:1.0}")
+    private double loggingAdvisorSamplingRate;
+
+    @Value("${logging-advisor-maximum-payload-length:4096}")
+    private int loggingAdvisorMaximumPayloadLength;
+
+    @Value("${logging-advisor-buffer-capacity:1024}")
+    private int loggingAdvisorBufferCapacity;
+
+    @Value("${ollama-keep-alive:30m}")
+    private Duration ollamaKeepAlive;
+
+    @Value("${ollama-keep-alive-refresh-interval:1m}")
+    private Duration ollamaKeepAliveRefreshInterval;
+
+    @Value("${limiter-initial-concurrency:4}")
+    private int limiterInitialConcurrency;
+
+    @Value("${limiter-minimum-concurrency:1}")
+    private int limiterMinimumConcurrency;
+
+    @Value("${limiter-maximum-concurrency:32}")
+    private int limiterMaximumConcurrency;
+
+    @Value("${limiter-permits-per-second:1.0}")
+    private double limiterPermitsPerSecond;
+
+    @Value("${limiter-burst-permits:1.0}")
+    private double limiterBurstPermits;
+
+    private final MeterRegistry meterRegistry;
+
+    RagExample(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
-    DocumentReader documentReader() {
-        JsonMetadataGenerator jsonMetadataGenerator = jsonMap -> {
-            if (jsonMap.containsKey(PONTIFF_NUMBER_KEY)) {
-                return Map.of(PONTIFF_NUMBER_KEY, jsonMap.get(PONTIFF_NUMBER_KEY));
-            } else {
-                return Map.of();
+    DocumentReader documentReader(JsonMapper jsonMapper) {
+        return new JsonDocumentReader(popesDataResource, jsonMapper, PONTIFF_NUMBER_KEY);
+    }
+
+    @Bean
+    EmbeddingCache embeddingCache(@Value("${embedding-cache-path}") Path embeddingCachePath) {
+        return new EmbeddingCache(embeddingCachePath);
+    }
+
+    @Bean
+    MeterBinder embeddingCacheMeterBinder(EmbeddingCache embeddingCache) {
+        return meterRegistry -> {
+            FunctionCounter.builder("rag.embedding.cache.requests", embeddingCache, EmbeddingCache::hitCount).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("rag.embedding.cache.requests", embeddingCache, EmbeddingCache::missCount).tag("result", "miss").register(meterRegistry);
+            Gauge.builder("rag.embedding.cache.size", embeddingCache, EmbeddingCache::size).register(meterRegistry);
+        };
+    }
+
+    @Bean
+    @Profile("mistral-ai")
+    ConcurrencyLimiter concurrencyLimiter() {
+        return new ConcurrencyLimiter(limiterInitialConcurrency, limiterMinimumConcurrency, limiterMaximumConcurrency, limiterPermitsPerSecond, limiterBurstPermits, meterRegistry);
+    }
+
+    @Bean
+    @Profile("mistral-ai")
+    RestClientCustomizer rateLimitRestClientCustomizer(ConcurrencyLimiter concurrencyLimiter) {
+        return restClientBuilder -> restClientBuilder.requestInterceptor((request, body, execution) -> {
+            var response = execution.execute(request, body);
+            concurrencyLimiter.onResponse(response.getStatusCode().value(), response.getHeaders());
+
+            return response;
+        });
+    }
+
+    @Bean
+    static BeanPostProcessor rateLimitedModelBeanPostProcessor(ObjectProvider<ConcurrencyLimiter> concurrencyLimiterProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ChatModel chatModel && !(bean instanceof RateLimitedChatModel)) {
+                    var concurrencyLimiter = concurrencyLimiterProvider.getIfAvailable();
+
+                    return concurrencyLimiter != null ? new RateLimitedChatModel(chatModel, concurrencyLimiter) : bean;
+                }
+
+                if (bean instanceof EmbeddingModel embeddingModel && !(bean instanceof RateLimitedEmbeddingModel)) {
+                    var concurrencyLimiter = concurrencyLimiterProvider.getIfAvailable();
+
+                    return concurrencyLimiter != null ? new RateLimitedEmbeddingModel(embeddingModel, concurrencyLimiter) : bean;
+                }
+
+                return bean;
             }
         };
+    }
+
+    @Bean
+    static BeanPostProcessor cachingEmbeddingModelBeanPostProcessor(ObjectProvider<EmbeddingCache> embeddingCacheProvider, @Value("${embedding-model-name}") String embeddingModelName) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof EmbeddingModel embeddingModel && !(bean instanceof CachingEmbeddingModel)) {
+                    return new CachingEmbeddingModel(embeddingModel, embeddingCacheProvider.getObject(), embeddingModelName);
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @Profile("quota-stub")
+    MistralAiQuotaStubServer mistralAiQuotaStubServer(@Value("${quota-stub-port}") int port, @Value("${quota-stub-requests-per-window}") int requestsPerWindow, @Value("${quota-stub-window}") Duration window, @Value("${quota-stub-latency:100ms}") Duration latency, @Value("classpath:/stub/pope.json") Resource answerResource, JsonMapper jsonMapper) throws IOException {
+        return new MistralAiQuotaStubServer(port, requestsPerWindow, window, latency, answerResource, jsonMapper);
+    }
+
+    @Bean
+    @Profile("!embedded")
+    StoredDocumentHashes storedDocumentHashes(QdrantVectorStore qdrantVectorStore, QdrantVectorStoreProperties qdrantVectorStoreProperties) {
+        @SuppressWarnings("resource")
+        var qdrantClient = qdrantVectorStore.<QdrantClient>getNativeClient().orElseThrow();
 
-        return new JsonReader(popesDataResource, jsonMetadataGenerator);
+        return new QdrantStoredDocumentHashes(qdrantClient, qdrantVectorStoreProperties.getCollectionName(), PONTIFF_NUMBER_KEY);
+    }
+
+    @Bean
+    @Profile("embedded")
+    EmbeddedVectorStore embeddedVectorStore(EmbeddingModel embeddingModel, JsonMapper jsonMapper) {
+        return new EmbeddedVectorStore(embeddingModel, embeddedVectorStorePath, embeddedVectorStoreMaximumConnections, embeddedVectorStoreEfConstruction, embeddedVectorStoreEfSearch, jsonMapper);
+    }
+
+    @Bean
+    @Profile("embedded")
+    StoredDocumentHashes embeddedStoredDocumentHashes(EmbeddedVectorStore embeddedVectorStore) {
+        return () -> embeddedVectorStore.storedDocumentHashes(PONTIFF_NUMBER_KEY);
+    }
+
+    @Bean
+    DocumentIngestionPipeline documentIngestionPipeline(VectorStore vectorStore) {
+        var textSplitter = TokenTextSplitter.builder().withChunkSize(ingestionChunkSize).build();
+
+        return new DocumentIngestionPipeline(vectorStore, textSplitter, ingestionBatchSize, ingestionParallelism, ingestionQueueCapacity, meterRegistry);
+    }
+
+    @Bean
+    @Profile("!embedded")
+    FilteredDocumentRetriever filteredDocumentRetriever(QdrantVectorStore qdrantVectorStore, QdrantVectorStoreProperties qdrantVectorStoreProperties) {
+        @SuppressWarnings("resource")
+        var qdrantClient = qdrantVectorStore.<QdrantClient>getNativeClient().orElseThrow();
+
+        return new QdrantFilteredDocumentRetriever(qdrantClient, qdrantVectorStoreProperties.getCollectionName());
+    }
+
+    @Bean
+    @Profile("ollama")
+    OllamaModelWarmer ollamaModelWarmer(OllamaApi ollamaApi, @Value("${spring.ai.ollama.chat.model}") String chatModel, @Value("${spring.ai.ollama.embedding.model}") String embeddingModel) {
+        return new OllamaModelWarmer(ollamaApi, List.of(chatModel), List.of(embeddingModel), ollamaKeepAlive, ollamaKeepAliveRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    @Order(0)
+    @Profile("ollama")
+    ApplicationRunner ollamaWarmUpApplicationRunner(OllamaModelWarmer ollamaModelWarmer) {
+        return _ -> ollamaModelWarmer.warmUp();
     }
 
     @Bean
     @Order(1)
-    ApplicationRunner dataLoaderApplicationRunner(DocumentReader documentReader, QdrantVectorStore qdrantVectorStore, QdrantVectorStoreProperties qdrantVectorStoreProperties) {
+    ApplicationRunner dataLoaderApplicationRunner(DocumentReader documentReader, VectorStore vectorStore, DocumentIngestionPipeline documentIngestionPipeline, StoredDocumentHashes storedDocumentHashes) {
         return _ -> {
-            @SuppressWarnings("resource")
-            var qdrantClient = qdrantVectorStore.<QdrantClient>getNativeClient().orElseThrow();
-            var storedPopesCount = qdrantClient.countAsync(qdrantVectorStoreProperties.getCollectionName()).get(1, SECONDS);
-
-            if (storedPopesCount == 0L) {
-                LOGGER.info("Loading documents corresponding to popes into vector store.");
-                var documents = documentReader.read();
-                qdrantVectorStore.add(documents);
-                LOGGER.info("{} documents corresponding to popes loaded into vector store.", documents.size());
-            } else {
-                LOGGER.info("Documents corresponding to popes have already been loaded into vector store.");
-            }
+            LOGGER.info("Synchronizing documents corresponding to popes with vector store.");
+            new IncrementalDocumentIngester(vectorStore, documentIngestionPipeline, storedDocumentHashes, PONTIFF_NUMBER_KEY).ingest(documentReader);
         };
     }
 
     @Bean
-    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory) {
+    @Primary
+    WriteBehindChatMemoryRepository writeBehindChatMemoryRepository(JdbcChatMemoryRepository jdbcChatMemoryRepository, PlatformTransactionManager transactionManager) {
+        return new WriteBehindChatMemoryRepository(jdbcChatMemoryRepository, new TransactionTemplate(transactionManager), chatMemoryDurability, chatMemoryCacheMaximumSize, chatMemoryFlushInterval, chatMemoryFlushBatchSize, meterRegistry);
+    }
+
+    @Bean
+    SampledLoggerAdvisor sampledLoggerAdvisor() {
+        return new SampledLoggerAdvisor(loggingAdvisorSamplingRate, loggingAdvisorMaximumPayloadLength, loggingAdvisorBufferCapacity, meterRegistry);
+    }
+
+    @Bean
+    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory, EmbeddingModel embeddingModel, SampledLoggerAdvisor sampledLoggerAdvisor) {
+        var answerCacheAdvisor = new AnswerCacheAdvisor("popes", answerCacheMaximumSize, answerCacheTimeToLive, embeddingModel, answerCacheSimilarityThreshold, meterRegistry);
+
         return chatClientBuilder.defaultSystem(systemPromptResource)
                 .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, UUID.randomUUID()))
-                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), new SimpleLoggerAdvisor())
+                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), answerCacheAdvisor, sampledLoggerAdvisor)
                 .build();
     }
 
+    @Bean
+    PrometheusMetricsFileExporter prometheusMetricsFileExporter(PrometheusMeterRegistry prometheusMeterRegistry, @Value("${metrics-export-path}") Path metricsExportPath) {
+        return new PrometheusMetricsFileExporter(prometheusMeterRegistry, metricsExportPath);
+    }
+
+    @Bean
+    ContextPacker contextPacker(JsonMapper jsonMapper) {
+        return new ContextPacker(contextTokenBudget, contextDuplicateSimilarityThreshold, contextIncludedFields, jsonMapper, new JTokkitTokenCountEstimator(), meterRegistry);
+    }
+
+    @Bean
+    StreamingPopeConverter streamingPopeConverter() {
+        return new StreamingPopeConverter(meterRegistry);
+    }
+
     @Bean
     @Order(2)
-    ApplicationRunner dataRetrieverApplicationRunner(ChatClient chatClient, VectorStore vectorStore) {
+    ApplicationRunner dataRetrieverApplicationRunner(ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter) {
         return _ -> {
-            searchPope(chatClient, vectorStore);
-            searchNextPopes(chatClient, vectorStore);
+            searchPope(chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter);
+            searchNextPopes(chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter);
         };
     }
 
-    private void searchPope(ChatClient chatClient, VectorStore vectorStore) {
-        var prompt = PromptTemplate.builder()
-                .resource(userTemplatedPromptResource)
-                .variables(Map.of(SEARCHED_POPE_PONTIFF_NUMBER_KEY, searchedPopePontiffNumber))
-                .build()
-                .create();
-        var pope = searchPope(prompt, chatClient, vectorStore, searchedPopePontiffNumber);
+    private void searchPope(ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter) {
+        var prompt = createUserTemplatedPrompt(searchedPopePontiffNumber);
+        var pope = searchPope(prompt, chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter, searchedPopePontiffNumber);
         LOGGER.info("The {} pope is: {}", searchedPopePontiffNumber, pope);
     }
 
-    private void searchNextPopes(ChatClient chatClient, VectorStore vectorStore) {
+    private void searchNextPopes(ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter) {
+        if (nextSearchedPopesParallelism > 1) {
+            searchNextPopesConcurrently(chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter);
+
+            return;
+        }
+
         IntStream.range(searchedPopePontiffNumber + 1, searchedPopePontiffNumber + nextSearchedPopesNumber + 1).forEach(currentSearchedPopePontiffNumber -> {
             var prompt = createUserPrompt();
-            var pope = searchPope(prompt, chatClient, vectorStore, currentSearchedPopePontiffNumber);
+            var pope = searchPope(prompt, chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter, currentSearchedPopePontiffNumber);
             LOGGER.info("The next pope is: {}", pope);
         });
     }
 
-    private Pope searchPope(Prompt prompt, ChatClient chatClient, VectorStore vectorStore, int searchedPopePontiffNumber) {
-        return chatClient.prompt(prompt)
-                .advisors(QuestionAnswerAdvisor.builder(vectorStore)
-                        .searchRequest(createSearchRequest(searchedPopePontiffNumber))
-                        .build())
+    private void searchNextPopesConcurrently(ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter) {
+        var inFlightSearches = new Semaphore(nextSearchedPopesParallelism);
+
+        try (var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            var completionService = new ExecutorCompletionService<Pope>(executorService);
+            var popeFutures = IntStream.range(searchedPopePontiffNumber + 1, searchedPopePontiffNumber + nextSearchedPopesNumber + 1)
+                    .mapToObj(currentSearchedPopePontiffNumber -> completionService.submit(() -> {
+                        inFlightSearches.acquire();
+
+                        try {
+                            var prompt = createUserTemplatedPrompt(currentSearchedPopePontiffNumber);
+
+                            return searchPope(prompt, chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter, currentSearchedPopePontiffNumber, UUID.randomUUID());
+                        } finally {
+                            inFlightSearches.release();
+                        }
+                    }))
+                    .toList();
+
+            try {
+                for (var completedSearches = 0; completedSearches < popeFutures.size(); completedSearches++) {
+                    completionService.take().get();
+                }
+
+                for (var popeFuture : popeFutures) {
+                    LOGGER.info("The next pope is: {}", popeFuture.resultNow());
+                }
+            } catch (InterruptedException exception) {
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while searching next popes!", exception);
+            } catch (ExecutionException exception) {
+                executorService.shutdownNow();
+                throw new IllegalStateException("Unable to search next popes!", exception.getCause());
+            }
+        }
+    }
+
+    private Pope searchPope(Prompt prompt, ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter, int searchedPopePontiffNumber, UUID conversationId) {
+        return searchPope(prompt, chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter, searchedPopePontiffNumber, advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, conversationId));
+    }
+
+    private Pope searchPope(Prompt prompt, ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter, int searchedPopePontiffNumber) {
+        return searchPope(prompt, chatClient, vectorStore, filteredDocumentRetriever, contextPacker, streamingPopeConverter, searchedPopePontiffNumber, _ -> {});
+    }
+
+    private Pope searchPope(Prompt prompt, ChatClient chatClient, VectorStore vectorStore, FilteredDocumentRetriever filteredDocumentRetriever, ContextPacker contextPacker, StreamingPopeConverter streamingPopeConverter, int searchedPopePontiffNumber, Consumer<ChatClient.AdvisorSpec> advisorSpecConsumer) {
+        var filteredRetrievalAdvisor = new FilteredRetrievalAdvisor(vectorStore, filteredDocumentRetriever, createSearchRequest(searchedPopePontiffNumber), Set.of(PONTIFF_NUMBER_KEY), contextPacker, meterRegistry);
+
+        if (searchedPopeStreaming) {
+            var contents = chatClient.prompt(streamingPopeConverter.withFormat(prompt))
+                    .advisors(advisorSpecConsumer)
+                    .advisors(filteredRetrievalAdvisor)
+                    .stream()
+                    .content();
+
+            return streamingPopeConverter.convert(contents, (fieldName, value) -> LOGGER.debug("Pope field '{}' received: {}", fieldName, value));
+        }
+
+        return recordEntityCall(() -> chatClient.prompt(prompt)
+                .advisors(advisorSpecConsumer)
+                .advisors(filteredRetrievalAdvisor)
                 .call()
-                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema);
+                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema));
     }
 
     private static SearchRequest createSearchRequest(int searchedPopePontiffNumber) {
@@ -148,6 +458,13 @@ class RagExample {
                 .build();
     }
 
+    private Prompt createUserTemplatedPrompt(int searchedPopePontiffNumber) {
+        return renderPrompt(PromptTemplate.builder()
+                .resource(userTemplatedPromptResource)
+                .variables(Map.of(SEARCHED_POPE_PONTIFF_NUMBER_KEY, searchedPopePontiffNumber))
+                .build());
+    }
+
     private Prompt createUserPrompt() {
         try {
             return new Prompt(userPromptResource.getContentAsString(Charset.defaultCharset()));
@@ -156,6 +473,18 @@ class RagExample {
         }
     }
 
+    private Prompt renderPrompt(PromptTemplate promptTemplate) {
+        return Timer.builder("chat.prompt.template.rendering")
+                .register(meterRegistry)
+                .record(() -> promptTemplate.create());
+    }
+
+    private <T> T recordEntityCall(Supplier<T> entityCall) {
+        return Timer.builder("chat.client.entity")
+                .register(meterRegistry)
+                .record(entityCall);
+    }
+
     static void main(String[] args) {
         SpringApplication.run(RagExample.class, args);
     }
@@ -0,0 +1,35 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+class RateLimitedChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    RateLimitedChatModel(ChatModel delegate, ConcurrencyLimiter concurrencyLimiter) {
+        this.delegate = delegate;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return concurrencyLimiter.call(() -> delegate.call(prompt));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return concurrencyLimiter.stream(() -> delegate.stream(prompt));
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import java.util.Map;
+import java.util.Set;
+
+@FunctionalInterface
+interface StoredDocumentHashes {
+
+    Map<String, StoredDocumentHash> load();
+
+    record StoredDocumentHash(String contentHash, Set<String> ids) {
+        StoredDocumentHash {
+            ids = Set.copyOf(ids);
+        }
+    }
+
+}
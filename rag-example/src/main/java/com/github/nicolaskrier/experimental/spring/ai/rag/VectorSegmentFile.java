@@ -0,0 +1,170 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+class VectorSegmentFile implements AutoCloseable {
+
+    private static final int MAGIC_NUMBER = 0x56454354;
+
+    private static final long HEADER_SIZE = 64L;
+
+    private static final long DIMENSIONS_OFFSET = Integer.BYTES;
+
+    private static final long VECTOR_COUNT_OFFSET = 2L * Integer.BYTES;
+
+    private static final int INITIAL_VECTOR_CAPACITY = 1024;
+
+    private final Path path;
+
+    private final int dimensions;
+
+    private final long vectorSize;
+
+    private final FileChannel fileChannel;
+
+    private Arena arena;
+
+    private MemorySegment segment;
+
+    private int vectorCount;
+
+    VectorSegmentFile(Path path, int dimensions) {
+        this.path = path;
+        this.dimensions = dimensions;
+        this.vectorSize = (long) dimensions * Float.BYTES;
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.fileChannel = FileChannel.open(path, CREATE, READ, WRITE);
+            map(Math.max(HEADER_SIZE + INITIAL_VECTOR_CAPACITY * vectorSize, fileChannel.size()));
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to open vector segment file '" + path + "'!", exception);
+        }
+
+        if (segment.get(JAVA_INT, 0L) != MAGIC_NUMBER) {
+            segment.set(JAVA_INT, DIMENSIONS_OFFSET, dimensions);
+            segment.set(JAVA_INT, VECTOR_COUNT_OFFSET, 0);
+            segment.set(JAVA_INT, 0L, MAGIC_NUMBER);
+        } else if (segment.get(JAVA_INT, DIMENSIONS_OFFSET) != dimensions) {
+            throw new IllegalStateException("Vector segment file '" + path + "' holds vectors of " + segment.get(JAVA_INT, DIMENSIONS_OFFSET) + " dimensions instead of " + dimensions + "!");
+        }
+
+        this.vectorCount = segment.get(JAVA_INT, VECTOR_COUNT_OFFSET);
+    }
+
+    static int storedDimensions(Path path) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (var fileChannel = FileChannel.open(path, READ)) {
+            var header = ByteBuffer.allocate((int) VECTOR_COUNT_OFFSET).order(JAVA_INT.order());
+
+            if (fileChannel.read(header, 0L) < header.capacity() || header.getInt(0) != MAGIC_NUMBER) {
+                return 0;
+            }
+
+            return header.getInt((int) DIMENSIONS_OFFSET);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to read vector segment file '" + path + "'!", exception);
+        }
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    int size() {
+        return vectorCount;
+    }
+
+    int append(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Vector must have " + dimensions + " dimensions instead of " + vector.length + "!");
+        }
+
+        var offset = HEADER_SIZE + vectorCount * vectorSize;
+
+        if (offset + vectorSize > segment.byteSize()) {
+            grow();
+        }
+
+        MemorySegment.copy(vector, 0, segment, JAVA_FLOAT, offset, dimensions);
+        segment.set(JAVA_INT, VECTOR_COUNT_OFFSET, vectorCount + 1);
+
+        return vectorCount++;
+    }
+
+    void truncate(int vectorCount) {
+        if (vectorCount < this.vectorCount) {
+            this.vectorCount = vectorCount;
+            segment.set(JAVA_INT, VECTOR_COUNT_OFFSET, vectorCount);
+        }
+    }
+
+    float[] vector(int vectorIndex) {
+        var vector = new float[dimensions];
+        MemorySegment.copy(segment, JAVA_FLOAT, HEADER_SIZE + vectorIndex * vectorSize, vector, 0, dimensions);
+
+        return vector;
+    }
+
+    float dotProduct(int vectorIndex, float[] vector) {
+        var offset = (HEADER_SIZE + vectorIndex * vectorSize) / Float.BYTES;
+        var dotProduct = 0.0f;
+
+        for (var dimension = 0; dimension < dimensions; dimension++) {
+            dotProduct += segment.getAtIndex(JAVA_FLOAT, offset + dimension) * vector[dimension];
+        }
+
+        return dotProduct;
+    }
+
+    float dotProduct(int leftVectorIndex, int rightVectorIndex) {
+        var leftOffset = (HEADER_SIZE + leftVectorIndex * vectorSize) / Float.BYTES;
+        var rightOffset = (HEADER_SIZE + rightVectorIndex * vectorSize) / Float.BYTES;
+        var dotProduct = 0.0f;
+
+        for (var dimension = 0; dimension < dimensions; dimension++) {
+            dotProduct += segment.getAtIndex(JAVA_FLOAT, leftOffset + dimension) * segment.getAtIndex(JAVA_FLOAT, rightOffset + dimension);
+        }
+
+        return dotProduct;
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment.force();
+        arena.close();
+        fileChannel.close();
+    }
+
+    private void grow() {
+        try {
+            var previousArena = arena;
+            segment.force();
+            map(segment.byteSize() * 2L);
+            previousArena.close();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to grow vector segment file '" + path + "'!", exception);
+        }
+    }
+
+    private void map(long capacity) throws IOException {
+        arena = Arena.ofShared();
+        segment = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0L, capacity, arena);
+    }
+
+}
@@ -0,0 +1,327 @@
+package com.github.nicolaskrier.experimental.spring.ai.rag;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+class WriteBehindChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindChatMemoryRepository.class);
+
+    private final ChatMemoryRepository delegate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Durability durability;
+
+    private final long flushIntervalNanos;
+
+    private final int flushBatchSize;
+
+    private final ReentrantLock stateLock = new ReentrantLock();
+
+    private final Condition flushRequested = stateLock.newCondition();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Map<String, List<Message>> cachedConversations;
+
+    private final Map<String, List<Message>> pendingConversations = new LinkedHashMap<>();
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter writtenRowsCounter;
+
+    private final Counter failedFlushesCounter;
+
+    private final Timer flushTimer;
+
+    private final @Nullable Thread flusher;
+
+    private boolean closed;
+
+    WriteBehindChatMemoryRepository(ChatMemoryRepository delegate, TransactionTemplate transactionTemplate, Durability durability, int cacheMaximumSize, Duration flushInterval, int flushBatchSize, MeterRegistry meterRegistry) {
+        if (cacheMaximumSize < 1 || flushBatchSize < 1 || !flushInterval.isPositive()) {
+            throw new IllegalArgumentException("Cache maximum size, flush batch size and flush interval must be strictly positive!");
+        }
+
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+        this.durability = durability;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flushBatchSize = flushBatchSize;
+        this.cachedConversations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Message>> eldestEntry) {
+                return size() > cacheMaximumSize;
+            }
+        };
+        this.hitCounter = Counter.builder("chat.memory.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("chat.memory.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.writtenRowsCounter = Counter.builder("chat.memory.write-behind.rows").register(meterRegistry);
+        this.failedFlushesCounter = Counter.builder("chat.memory.write-behind.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.memory.write-behind.flush").register(meterRegistry);
+        Gauge.builder("chat.memory.write-behind.pending", this, WriteBehindChatMemoryRepository::pendingSize)
+                .register(meterRegistry);
+        this.flusher = durability == Durability.SYNC ? null : Thread.ofVirtual()
+                .name("chat-memory-flusher")
+                .start(this::flushPeriodically);
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+        var conversationIds = new LinkedHashSet<>(delegate.findConversationIds());
+        stateLock.lock();
+
+        try {
+            pendingConversations.forEach((conversationId, messages) -> {
+                if (messages.isEmpty()) {
+                    conversationIds.remove(conversationId);
+                } else {
+                    conversationIds.add(conversationId);
+                }
+            });
+        } finally {
+            stateLock.unlock();
+        }
+
+        return List.copyOf(conversationIds);
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+        stateLock.lock();
+
+        try {
+            var messages = pendingConversations.get(conversationId);
+
+            if (messages == null) {
+                messages = cachedConversations.get(conversationId);
+            }
+
+            if (messages != null) {
+                hitCounter.increment();
+
+                return messages;
+            }
+        } finally {
+            stateLock.unlock();
+        }
+
+        missCounter.increment();
+        var messages = List.copyOf(delegate.findByConversationId(conversationId));
+        stateLock.lock();
+
+        try {
+            if (!pendingConversations.containsKey(conversationId)) {
+                cachedConversations.putIfAbsent(conversationId, messages);
+            }
+
+            return cachedConversations.getOrDefault(conversationId, messages);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+        replace(conversationId, List.copyOf(messages));
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+        replace(conversationId, List.of());
+    }
+
+    @Override
+    public void close() {
+        stateLock.lock();
+
+        try {
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            stateLock.unlock();
+        }
+
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flush();
+    }
+
+    void flush() {
+        flushLock.lock();
+
+        try {
+            Map<String, List<Message>> flushedConversations;
+            stateLock.lock();
+
+            try {
+                if (pendingConversations.isEmpty()) {
+                    return;
+                }
+
+                flushedConversations = new LinkedHashMap<>(pendingConversations);
+                pendingConversations.clear();
+            } finally {
+                stateLock.unlock();
+            }
+
+            try {
+                flushTimer.record(() -> write(flushedConversations));
+            } catch (RuntimeException exception) {
+                failedFlushesCounter.increment();
+                requeue(flushedConversations);
+
+                throw exception;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    int pendingSize() {
+        stateLock.lock();
+
+        try {
+            return pendingConversations.size();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void replace(String conversationId, List<Message> messages) {
+        if (durability == Durability.SYNC) {
+            flushLock.lock();
+
+            try {
+                ensureOpen();
+                flushTimer.record(() -> write(Map.of(conversationId, messages)));
+                stateLock.lock();
+
+                try {
+                    cachedConversations.put(conversationId, messages);
+                } finally {
+                    stateLock.unlock();
+                }
+            } finally {
+                flushLock.unlock();
+            }
+
+            return;
+        }
+
+        stateLock.lock();
+
+        try {
+            ensureOpen();
+            cachedConversations.put(conversationId, messages);
+            pendingConversations.put(conversationId, messages);
+
+            if (durability == Durability.ASYNC || pendingConversations.size() >= flushBatchSize) {
+                flushRequested.signal();
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        stateLock.lock();
+
+        try {
+            if (closed) {
+                throw new IllegalStateException("Chat memory repository is closed!");
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void flushPeriodically() {
+        while (true) {
+            stateLock.lock();
+
+            try {
+                if (!closed && (durability == Durability.PERIODIC || pendingConversations.isEmpty())) {
+                    flushRequested.awaitNanos(flushIntervalNanos);
+                }
+
+                if (closed) {
+                    return;
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+
+                return;
+            } finally {
+                stateLock.unlock();
+            }
+
+            try {
+                flush();
+            } catch (RuntimeException exception) {
+                LOGGER.error("Unable to flush chat memory, retrying in {} ms!", TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), exception);
+                sleepFlushInterval();
+            }
+        }
+    }
+
+    private void sleepFlushInterval() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void requeue(Map<String, List<Message>> flushedConversations) {
+        stateLock.lock();
+
+        try {
+            flushedConversations.forEach(pendingConversations::putIfAbsent);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void write(Map<String, List<Message>> conversations) {
+        transactionTemplate.executeWithoutResult(_ -> conversations.forEach((conversationId, messages) -> {
+            if (messages.isEmpty()) {
+                delegate.deleteByConversationId(conversationId);
+            } else {
+                delegate.saveAll(conversationId, messages);
+            }
+        }));
+        writtenRowsCounter.increment(conversations.values().stream().mapToInt(List::size).sum());
+    }
+
+    enum Durability {
+        SYNC, ASYNC, PERIODIC
+    }
+
+}
@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Trains and uses a JDK 25 AOT cache for a module built with the aot-cache Maven profile:
+#
+#   mvn -Paot-cache -pl mcp-example/pope-search-mcp-server -am package
+#   scripts/aot-cache.sh mcp-example/pope-search-mcp-server train
+#   scripts/aot-cache.sh mcp-example/pope-search-mcp-server run [application arguments...]
+#
+# The executable jar is extracted first because the AOT cache only supports classes loaded from plain jars.
+set -euo pipefail
+
+if [[ $# -lt 2 ]]; then
+  echo "Usage: $0 <module directory> train|run|extract [application arguments...]" >&2
+  exit 1
+fi
+
+module_directory=${1%/}
+command=$2
+shift 2
+target_directory="$module_directory/target"
+extracted_directory="$target_directory/aot-cache"
+aot_cache_file="$extracted_directory/application.aot"
+
+find_executable_jar() {
+  local jar
+
+  for jar in "$target_directory"/*-exec.jar "$target_directory"/*.jar; do
+    if [[ -f $jar && $jar != *-plain.jar ]]; then
+      echo "$jar"
+      return
+    fi
+  done
+
+  echo "No executable jar found in $target_directory, run 'mvn -Paot-cache -pl $module_directory -am package' first." >&2
+  exit 1
+}
+
+extract() {
+  local executable_jar
+  executable_jar=$(find_executable_jar)
+  rm -rf "$extracted_directory"
+  java -Djarmode=tools -jar "$executable_jar" extract --destination "$extracted_directory"
+}
+
+extracted_jar() {
+  local jar
+
+  for jar in "$extracted_directory"/*.jar; do
+    echo "$jar"
+    return
+  done
+
+  echo "No extracted jar found in $extracted_directory, run '$0 $module_directory extract' first." >&2
+  exit 1
+}
+
+case $command in
+  extract)
+    extract
+    ;;
+  train)
+    extract
+    java -XX:AOTCacheOutput="$aot_cache_file" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -jar "$(extracted_jar)" "$@"
+    ;;
+  run)
+    exec java -XX:AOTCache="$aot_cache_file" -Dspring.aot.enabled=true -jar "$(extracted_jar)" "$@"
+    ;;
+  *)
+    echo "Unknown command '$command', expecting train, run or extract." >&2
+    exit 1
+    ;;
+esac
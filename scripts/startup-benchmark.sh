@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+#
+# Measures the time to the first tool response of both MCP servers, launched from their extracted jar
+# either as is or with Spring AOT code and the JDK AOT cache trained by scripts/aot-cache.sh:
+#
+#   mvn -Paot-cache -pl mcp-example/pope-search-mcp-server,mcp-example/time-mcp-server -am package
+#   scripts/aot-cache.sh mcp-example/pope-search-mcp-server train
+#   scripts/aot-cache.sh mcp-example/time-mcp-server train
+#   scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+runs=${1:-5}
+script_directory=$(cd "$(dirname "$0")" && pwd)
+project_directory=$(dirname "$script_directory")
+
+now_millis() {
+  perl -MTime::HiRes=time -e 'printf "%d\n", time * 1000'
+}
+
+call_tool() {
+  local port=$1
+  local tool_call=$2
+
+  curl --silent --fail --max-time 1 \
+    --header 'Content-Type: application/json' \
+    --header 'Accept: application/json, text/event-stream' \
+    --data "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":$tool_call}" \
+    "http://localhost:$port/mcp" | grep --quiet '"result"'
+}
+
+measure() {
+  local module_directory=$1
+  local port=$2
+  local tool_call=$3
+  local mode=$4
+  local extracted_directory="$project_directory/$module_directory/target/aot-cache"
+  local jar
+  jar=$(ls "$extracted_directory"/*.jar | head -1)
+  local java_options=()
+
+  if [[ $mode == aot-cache ]]; then
+    java_options=(-XX:AOTCache="$extracted_directory/application.aot" -Dspring.aot.enabled=true)
+  fi
+
+  local start
+  start=$(now_millis)
+  java ${java_options[@]+"${java_options[@]}"} -jar "$jar" --server.port="$port" > /dev/null 2>&1 &
+  local pid=$!
+
+  until call_tool "$port" "$tool_call"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Server $module_directory exited before responding." >&2
+      exit 1
+    fi
+
+    sleep 0.01
+  done
+
+  local elapsed=$(( $(now_millis) - start ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+benchmark() {
+  local name=$1
+  local module_directory=$2
+  local port=$3
+  local tool_call=$4
+  local mode
+
+  for mode in jar aot-cache; do
+    local total=0
+    local minimum=
+    local run
+
+    for (( run = 1; run <= runs; run++ )); do
+      local elapsed
+      elapsed=$(measure "$module_directory" "$port" "$tool_call" "$mode")
+      total=$(( total + elapsed ))
+
+      if [[ -z $minimum || $elapsed -lt $minimum ]]; then
+        minimum=$elapsed
+      fi
+    done
+
+    printf '%-24s %-10s time to first tool response: average %5d ms, minimum %5d ms (%d runs)\n' "$name" "$mode" $(( total / runs )) "$minimum" "$runs"
+  done
+}
+
+benchmark pope-search-mcp-server mcp-example/pope-search-mcp-server 8080 '{"name":"searchPopeByPontiffNumber","arguments":{"pontiffNumber":267}}'
+benchmark time-mcp-server mcp-example/time-mcp-server 8081 '{"name":"currentDateTime","arguments":{}}'
@@ -0,0 +1,49 @@
+package com.github.nicolaskrier.experimental.spring.ai.tools;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+class MemoizingToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+
+    private final ToolResultCache toolResultCache;
+
+    MemoizingToolCallback(ToolCallback delegate, ToolResultCache toolResultCache) {
+        this.delegate = delegate;
+        this.toolResultCache = toolResultCache;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, @Nullable ToolContext toolContext) {
+        var conversationId = toolContext != null ? toolContext.getContext().get(ChatMemory.CONVERSATION_ID) : null;
+        var toolResult = toolResultCache.get(conversationId, toolInput);
+
+        if (toolResult == null) {
+            toolResult = toolContext != null ? delegate.call(toolInput, toolContext) : delegate.call(toolInput);
+            toolResultCache.put(conversationId, toolInput, toolResult);
+        }
+
+        return toolResult;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.nicolaskrier.experimental.spring.ai.tools;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class MemoizingToolCallbackProvider implements ToolCallbackProvider {
+
+    private final ToolCallbackProvider delegate;
+
+    private final Map<String, ToolResultCache.Policy> policies;
+
+    private final int maximumSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ToolResultCache> toolResultCaches = new ConcurrentHashMap<>();
+
+    MemoizingToolCallbackProvider(ToolCallbackProvider delegate, Map<String, ToolResultCache.Policy> policies, int maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.policies = Map.copyOf(policies);
+        this.maximumSize = maximumSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ToolCallback[] getToolCallbacks() {
+        return Arrays.stream(delegate.getToolCallbacks())
+                .map(this::memoizing)
+                .toArray(ToolCallback[]::new);
+    }
+
+    private ToolCallback memoizing(ToolCallback toolCallback) {
+        var toolName = toolCallback.getToolDefinition().name();
+        var policy = policy(toolName);
+
+        if (policy == null) {
+            return toolCallback;
+        }
+
+        var toolResultCache = toolResultCaches.computeIfAbsent(toolName, _ -> new ToolResultCache(toolName, policy, maximumSize, meterRegistry));
+
+        return new MemoizingToolCallback(toolCallback, toolResultCache);
+    }
+
+    private ToolResultCache.@Nullable Policy policy(String toolName) {
+        var policy = policies.get(toolName);
+
+        if (policy != null) {
+            return policy;
+        }
+
+        return policies.entrySet()
+                .stream()
+                .filter(entry -> toolName.endsWith("_" + entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+}
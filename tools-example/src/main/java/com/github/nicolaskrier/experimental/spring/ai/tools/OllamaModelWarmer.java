@@ -0,0 +1,100 @@
+package com.github.nicolaskrier.experimental.spring.ai.tools;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.ollama.api.OllamaApi;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class OllamaModelWarmer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OllamaModelWarmer.class);
+
+    private static final List<String> WARM_UP_INPUT = List.of("warm-up");
+
+    private final OllamaApi ollamaApi;
+
+    private final List<String> chatModels;
+
+    private final List<String> embeddingModels;
+
+    private final Duration keepAlive;
+
+    private final Duration refreshInterval;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("ollama-model-warmer").factory());
+
+    OllamaModelWarmer(OllamaApi ollamaApi, List<String> chatModels, List<String> embeddingModels, Duration keepAlive, Duration refreshInterval, MeterRegistry meterRegistry) {
+        if (refreshInterval.compareTo(keepAlive) >= 0) {
+            throw new IllegalArgumentException("Keep alive refresh interval must be shorter than keep alive!");
+        }
+
+        this.ollamaApi = ollamaApi;
+        this.chatModels = List.copyOf(chatModels);
+        this.embeddingModels = List.copyOf(embeddingModels);
+        this.keepAlive = keepAlive;
+        this.refreshInterval = refreshInterval;
+        this.meterRegistry = meterRegistry;
+    }
+
+    void warmUp() {
+        chatModels.forEach(chatModel -> warmUp(chatModel, () -> loadChatModel(chatModel)));
+        embeddingModels.forEach(embeddingModel -> warmUp(embeddingModel, () -> loadEmbeddingModel(embeddingModel)));
+        scheduledExecutorService.scheduleWithFixedDelay(this::refresh, refreshInterval.toNanos(), refreshInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    private void warmUp(String model, Runnable modelLoad) {
+        var coldLatency = record(model, "cold", modelLoad);
+        var warmLatency = record(model, "warm", modelLoad);
+        LOGGER.info("Ollama model '{}' kept alive for {}: cold call in {} ms, warm call in {} ms.", model, keepAlive, coldLatency.toMillis(), warmLatency.toMillis());
+    }
+
+    private Duration record(String model, String state, Runnable modelLoad) {
+        var startTime = System.nanoTime();
+        modelLoad.run();
+        var latency = Duration.ofNanos(System.nanoTime() - startTime);
+        Timer.builder("ollama.model.warm-up")
+                .tag("model", model)
+                .tag("state", state)
+                .register(meterRegistry)
+                .record(latency);
+
+        return latency;
+    }
+
+    private void refresh() {
+        try {
+            chatModels.forEach(this::loadChatModel);
+            embeddingModels.forEach(this::loadEmbeddingModel);
+            LOGGER.debug("Ollama models {} and {} kept alive for {}.", chatModels, embeddingModels, keepAlive);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to keep Ollama models alive, retrying in {}.", refreshInterval, exception);
+        }
+    }
+
+    private void loadChatModel(String chatModel) {
+        var chatRequest = OllamaApi.ChatRequest.builder(chatModel)
+                .messages(List.of())
+                .keepAlive(keepAlive.toSeconds() + "s")
+                .build();
+        ollamaApi.chat(chatRequest);
+    }
+
+    private void loadEmbeddingModel(String embeddingModel) {
+        ollamaApi.embed(new OllamaApi.EmbeddingsRequest(embeddingModel, WARM_UP_INPUT, keepAlive, null, null));
+    }
+
+}
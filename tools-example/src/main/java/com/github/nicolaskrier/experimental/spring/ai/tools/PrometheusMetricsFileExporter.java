@@ -0,0 +1,45 @@
+package com.github.nicolaskrier.experimental.spring.ai.tools;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class PrometheusMetricsFileExporter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrometheusMetricsFileExporter.class);
+
+    private final PrometheusMeterRegistry prometheusMeterRegistry;
+
+    private final Path path;
+
+    PrometheusMetricsFileExporter(PrometheusMeterRegistry prometheusMeterRegistry, Path path) {
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+        this.path = path;
+    }
+
+    void export() {
+        try {
+            var parent = path.toAbsolutePath().getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            Files.writeString(path, prometheusMeterRegistry.scrape(), StandardCharsets.UTF_8);
+            LOGGER.info("Metrics exported in Prometheus text format to '{}'.", path);
+        } catch (IOException exception) {
+            LOGGER.error("Unable to export metrics to '{}'!", path, exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        export();
+    }
+
+}
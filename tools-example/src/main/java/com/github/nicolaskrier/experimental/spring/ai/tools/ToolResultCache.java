@@ -0,0 +1,101 @@
+package com.github.nicolaskrier.experimental.spring.ai.tools;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class ToolResultCache {
+
+    private final Policy policy;
+
+    private final Map<CacheKey, CacheEntry> cacheEntries;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    ToolResultCache(String toolName, Policy policy, int maximumSize, MeterRegistry meterRegistry) {
+        this.policy = policy;
+        this.cacheEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldestEntry) {
+                return size() > maximumSize;
+            }
+        };
+        this.hitCounter = requestCounter(toolName, "hit", meterRegistry);
+        this.missCounter = requestCounter(toolName, "miss", meterRegistry);
+        Gauge.builder("tool.result.cache.size", this, ToolResultCache::size)
+                .tag("tool", toolName)
+                .register(meterRegistry);
+    }
+
+    @Nullable String get(@Nullable Object conversationId, String toolInput) {
+        var cacheKey = new CacheKey(policy.conversationScoped() ? conversationId : null, toolInput.strip());
+
+        synchronized (cacheEntries) {
+            var cacheEntry = cacheEntries.get(cacheKey);
+
+            if (cacheEntry != null && !cacheEntry.isExpired(System.nanoTime())) {
+                hitCounter.increment();
+
+                return cacheEntry.toolResult();
+            }
+
+            if (cacheEntry != null) {
+                cacheEntries.remove(cacheKey);
+            }
+        }
+
+        missCounter.increment();
+
+        return null;
+    }
+
+    void put(@Nullable Object conversationId, String toolInput, String toolResult) {
+        var cacheKey = new CacheKey(policy.conversationScoped() ? conversationId : null, toolInput.strip());
+        var timeToLive = policy.timeToLive();
+        var cacheEntry = timeToLive == null ? new CacheEntry(toolResult, false, 0L) : new CacheEntry(toolResult, true, System.nanoTime() + timeToLive.toNanos());
+
+        synchronized (cacheEntries) {
+            cacheEntries.put(cacheKey, cacheEntry);
+        }
+    }
+
+    int size() {
+        synchronized (cacheEntries) {
+            return cacheEntries.size();
+        }
+    }
+
+    private static Counter requestCounter(String toolName, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("tool.result.cache.requests")
+                .tag("tool", toolName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    record Policy(@Nullable Duration timeToLive, boolean conversationScoped) {
+        static Policy indefinitely(boolean conversationScoped) {
+            return new Policy(null, conversationScoped);
+        }
+
+        static Policy expiringAfter(Duration timeToLive, boolean conversationScoped) {
+            return new Policy(timeToLive, conversationScoped);
+        }
+    }
+
+    private record CacheKey(@Nullable Object conversationId, String toolInput) {
+    }
+
+    private record CacheEntry(String toolResult, boolean expiring, long expirationTime) {
+        boolean isExpired(long now) {
+            return expiring && now - expirationTime > 0L;
+        }
+    }
+
+}
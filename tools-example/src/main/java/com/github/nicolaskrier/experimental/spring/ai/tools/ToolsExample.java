@@ -1,28 +1,45 @@
 package com.github.nicolaskrier.experimental.spring.ai.tools;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.support.ToolCallbacks;
 import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.function.FunctionToolCallback;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @SpringBootApplication
 class ToolsExample {
@@ -31,6 +48,8 @@ class ToolsExample {
 
     private static final String SEARCHED_POPE_KEY = "searched_pope";
 
+    private static final String PREVIOUS_SEARCHED_POPES_NUMBER_KEY = "previous_searched_popes_number";
+
     @Value("classpath:/prompts/system-prompt.txt")
     private Resource systemPromptResource;
 
@@ -40,12 +59,60 @@ class ToolsExample {
     @Value("classpath:/prompts/user-prompt.txt")
     private Resource userPromptResource;
 
+    @Value("classpath:/prompts/user-batch-templated-prompt.txt")
+    private Resource userBatchTemplatedPromptResource;
+
     @Value("${searched-pope:current}")
     private String searchedPope;
 
     @Value("${previous-searched-popes-number:0}")
     private int previousSearchedPopesNumber;
 
+    @Value("${previous-searched-popes-batch:false}")
+    private boolean previousSearchedPopesBatch;
+
+    @Value("${searched-pope-streaming:false}")
+    private boolean searchedPopeStreaming;
+
+    @Value("${answer-cache-maximum-size:1000}")
+    private int answerCacheMaximumSize;
+
+    @Value("${answer-cache-time-to-live:1h}")
+    private Duration answerCacheTimeToLive;
+
+    @Value("${tool-call-timeout:30s}")
+    private Duration toolCallTimeout;
+
+    @Value("${tool-result-cache-maximum-size:1000}")
+    private int toolResultCacheMaximumSize;
+
+    @Value("${tool-result-cache-conversation-scoped:false}")
+    private boolean toolResultCacheConversationScoped;
+
+    @Value("${current-date-time-tool-result-time-to-live:1m}")
+    private Duration currentDateTimeToolResultTimeToLive;
+
+    @Value("${logging-advisor-sampling-rate:1.0}")
+    private double loggingAdvisorSamplingRate;
+
+    @Value("${logging-advisor-maximum-payload-length:4096}")
+    private int loggingAdvisorMaximumPayloadLength;
+
+    @Value("${logging-advisor-buffer-capacity:1024}")
+    private int loggingAdvisorBufferCapacity;
+
+    @Value("${ollama-keep-alive:30m}")
+    private Duration ollamaKeepAlive;
+
+    @Value("${ollama-keep-alive-refresh-interval:1m}")
+    private Duration ollamaKeepAliveRefreshInterval;
+
+    private final MeterRegistry meterRegistry;
+
+    ToolsExample(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     ToolCallback currentDateTimeToolCallback() {
         return FunctionToolCallback.builder("currentDateTime", () -> Instant.now().toString())
@@ -54,44 +121,129 @@ class ToolsExample {
     }
 
     @Bean
-    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory, PopeSearchTools popeSearchTools, ToolCallback currentDateTimeToolCallback) {
+    ParallelToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver, ObservationRegistry observationRegistry) {
+        var toolCallingManager = ToolCallingManager.builder()
+                .toolCallbackResolver(toolCallbackResolver)
+                .observationRegistry(observationRegistry)
+                .build();
+
+        return new ParallelToolCallingManager(toolCallingManager, toolCallbackResolver, observationRegistry, toolCallTimeout);
+    }
+
+    @Bean
+    SampledLoggerAdvisor sampledLoggerAdvisor() {
+        return new SampledLoggerAdvisor(loggingAdvisorSamplingRate, loggingAdvisorMaximumPayloadLength, loggingAdvisorBufferCapacity, meterRegistry);
+    }
+
+    @Bean
+    ChatClient chatClient(ChatClient.Builder chatClientBuilder, ChatMemory chatMemory, PopeSearchTools popeSearchTools, ToolCallback currentDateTimeToolCallback, SampledLoggerAdvisor sampledLoggerAdvisor) {
+        var answerCacheAdvisor = new AnswerCacheAdvisor("popes", answerCacheMaximumSize, answerCacheTimeToLive, null, 0.0, meterRegistry);
+        var toolCallbacks = Stream.concat(Stream.of(currentDateTimeToolCallback), Arrays.stream(ToolCallbacks.from(popeSearchTools))).toList();
+        var toolCallbackProvider = new MemoizingToolCallbackProvider(ToolCallbackProvider.from(toolCallbacks), toolResultCachePolicies(), toolResultCacheMaximumSize, meterRegistry);
+        var conversationId = UUID.randomUUID();
+
         return chatClientBuilder.defaultSystem(systemPromptResource)
-                .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, UUID.randomUUID()))
-                .defaultTools(currentDateTimeToolCallback, popeSearchTools)
-                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), new SimpleLoggerAdvisor())
+                .defaultAdvisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, conversationId))
+                .defaultTools(toolCallbackProvider)
+                .defaultToolContext(Map.of(ChatMemory.CONVERSATION_ID, conversationId))
+                .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build(), answerCacheAdvisor, sampledLoggerAdvisor)
                 .build();
     }
 
     @Bean
-    ApplicationRunner applicationRunner(ChatClient chatClient) {
+    PrometheusMetricsFileExporter prometheusMetricsFileExporter(PrometheusMeterRegistry prometheusMeterRegistry, @Value("${metrics-export-path}") Path metricsExportPath) {
+        return new PrometheusMetricsFileExporter(prometheusMeterRegistry, metricsExportPath);
+    }
+
+    @Bean
+    StreamingPopeConverter streamingPopeConverter() {
+        return new StreamingPopeConverter(meterRegistry);
+    }
+
+    @Bean
+    @Profile("ollama")
+    OllamaModelWarmer ollamaModelWarmer(OllamaApi ollamaApi, @Value("${spring.ai.ollama.chat.model}") String chatModel) {
+        return new OllamaModelWarmer(ollamaApi, List.of(chatModel), List.of(), ollamaKeepAlive, ollamaKeepAliveRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    @Order(0)
+    @Profile("ollama")
+    ApplicationRunner ollamaWarmUpApplicationRunner(OllamaModelWarmer ollamaModelWarmer) {
+        return _ -> ollamaModelWarmer.warmUp();
+    }
+
+    @Bean
+    ApplicationRunner applicationRunner(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
         return _ -> {
-            searchPope(chatClient);
-            searchPreviousPopes(chatClient);
+            searchPope(chatClient, streamingPopeConverter);
+            searchPreviousPopes(chatClient, streamingPopeConverter);
         };
     }
 
-    private void searchPope(ChatClient chatClient) {
-        var prompt = PromptTemplate.builder()
+    private void searchPope(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        var prompt = renderPrompt(PromptTemplate.builder()
                 .resource(userTemplatedPromptResource)
                 .variables(Map.of(SEARCHED_POPE_KEY, searchedPope))
-                .build()
-                .create();
-        var pope = searchPope(prompt, chatClient);
+                .build());
+        var pope = searchPope(prompt, chatClient, streamingPopeConverter);
         LOGGER.info("The {} pope is: {}", searchedPope, pope);
     }
 
-    private void searchPreviousPopes(ChatClient chatClient) {
+    private void searchPreviousPopes(ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        if (previousSearchedPopesBatch) {
+            searchPreviousPopesAtOnce(chatClient);
+
+            return;
+        }
+
         IntStream.range(0, previousSearchedPopesNumber).forEach(_ -> {
             var prompt = createUserPrompt();
-            var pope = searchPope(prompt, chatClient);
+            var pope = searchPope(prompt, chatClient, streamingPopeConverter);
             LOGGER.info("The previous pope is: {}", pope);
         });
     }
 
-    private static Pope searchPope(Prompt prompt, ChatClient chatClient) {
-        return chatClient.prompt(prompt)
+    private void searchPreviousPopesAtOnce(ChatClient chatClient) {
+        if (previousSearchedPopesNumber < 1) {
+            return;
+        }
+
+        var prompt = renderPrompt(PromptTemplate.builder()
+                .resource(userBatchTemplatedPromptResource)
+                .variables(Map.of(SEARCHED_POPE_KEY, searchedPope, PREVIOUS_SEARCHED_POPES_NUMBER_KEY, previousSearchedPopesNumber))
+                .build());
+        var popes = recordEntityCall(() -> chatClient.prompt(prompt)
+                .call()
+                .entity(new ParameterizedTypeReference<List<Pope>>() {}));
+        LOGGER.info("The {} previous popes are: {}", previousSearchedPopesNumber, popes);
+    }
+
+    private Pope searchPope(Prompt prompt, ChatClient chatClient, StreamingPopeConverter streamingPopeConverter) {
+        if (searchedPopeStreaming) {
+            var contents = chatClient.prompt(streamingPopeConverter.withFormat(prompt))
+                    .stream()
+                    .content();
+
+            return streamingPopeConverter.convert(contents, (fieldName, value) -> LOGGER.debug("Pope field '{}' received: {}", fieldName, value));
+        }
+
+        return recordEntityCall(() -> chatClient.prompt(prompt)
                 .call()
-                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema);
+                .entity(Pope.class, ChatClient.EntityParamSpec::validateSchema));
+    }
+
+    private Map<String, ToolResultCache.Policy> toolResultCachePolicies() {
+        var popeSearchPolicy = ToolResultCache.Policy.indefinitely(toolResultCacheConversationScoped);
+
+        return Map.of(
+                "currentDateTime", ToolResultCache.Policy.expiringAfter(currentDateTimeToolResultTimeToLive, toolResultCacheConversationScoped),
+                "searchPopeByPontiffNumber", popeSearchPolicy,
+                "searchPopeByDate", popeSearchPolicy,
+                "searchPopesByPontiffNumbers", popeSearchPolicy,
+                "searchPopesByPontiffNumberRange", popeSearchPolicy,
+                "searchPopesByDateRange", popeSearchPolicy
+        );
     }
 
     private Prompt createUserPrompt() {
@@ -102,6 +254,18 @@ class ToolsExample {
         }
     }
 
+    private Prompt renderPrompt(PromptTemplate promptTemplate) {
+        return Timer.builder("chat.prompt.template.rendering")
+                .register(meterRegistry)
+                .record(() -> promptTemplate.create());
+    }
+
+    private <T> T recordEntityCall(Supplier<T> entityCall) {
+        return Timer.builder("chat.client.entity")
+                .register(meterRegistry)
+                .record(entityCall);
+    }
+
     static void main(String[] args) {
         SpringApplication.run(ToolsExample.class, args);
     }